@@ -0,0 +1,78 @@
+package com.project.back_end.DTO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Keyset (seek) position for paging appointment listings ordered by (appointmentTime, id).
+ * Sent to the client as an opaque "time_id" string; an empty cursor means the first page.
+ * A request with neither cursor nor size is unpaged and returns every row, as before paging existed.
+ */
+public class AppointmentCursor {
+
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 200;
+
+    private final LocalDateTime afterTime;
+    private final Long afterId;
+    private final int size;
+    private final boolean paged;
+
+    public AppointmentCursor(LocalDateTime afterTime, Long afterId, int size) {
+        this(afterTime, afterId, size, true);
+    }
+
+    private AppointmentCursor(LocalDateTime afterTime, Long afterId, int size, boolean paged) {
+        this.afterTime = afterTime;
+        this.afterId = afterId;
+        this.size = Math.max(1, Math.min(size, MAX_SIZE));
+        this.paged = paged;
+    }
+
+    // Every row in one response (no cursor and no size given)
+    public static AppointmentCursor unpaged() {
+        return new AppointmentCursor(null, null, MAX_SIZE, false);
+    }
+
+    // Parse a cursor previously returned as "nextCursor"; blank or malformed input starts from the beginning
+    public static AppointmentCursor parse(String cursor, Integer size) {
+        if ((cursor == null || cursor.isBlank()) && size == null) {
+            return unpaged();
+        }
+        int pageSize = size != null ? size : DEFAULT_SIZE;
+        if (cursor == null || cursor.isBlank()) {
+            return new AppointmentCursor(null, null, pageSize);
+        }
+        int separator = cursor.lastIndexOf('_');
+        try {
+            LocalDateTime time = LocalDateTime.parse(cursor.substring(0, separator));
+            Long id = Long.parseLong(cursor.substring(separator + 1));
+            return new AppointmentCursor(time, id, pageSize);
+        } catch (RuntimeException e) {
+            return new AppointmentCursor(null, null, pageSize);
+        }
+    }
+
+    // Cursor pointing after the last row of a full page, or null when there are no more rows
+    public String next(List<AppointmentDTO> page) {
+        if (!paged || page.size() < size) return null;
+        AppointmentDTO last = page.get(page.size() - 1);
+        return last.getAppointmentTime() + "_" + last.getId();
+    }
+
+    public LocalDateTime getAfterTime() {
+        return afterTime;
+    }
+
+    public Long getAfterId() {
+        return afterId;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isPaged() {
+        return paged;
+    }
+}
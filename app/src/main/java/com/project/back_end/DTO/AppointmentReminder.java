@@ -0,0 +1,14 @@
+package com.project.back_end.DTO;
+
+import java.time.LocalDateTime;
+
+// A reminder ready to be sent: who to notify, about which appointment, and how far ahead (24h, 1h, ...)
+public record AppointmentReminder(Long appointmentId,
+                                  Long patientId,
+                                  String patientName,
+                                  String patientEmail,
+                                  String patientPhone,
+                                  String doctorName,
+                                  LocalDateTime appointmentTime,
+                                  long leadMinutes) {
+}
@@ -0,0 +1,61 @@
+package com.project.back_end.DTO;
+
+import com.project.back_end.models.Doctor;
+
+import java.util.Locale;
+
+/**
+ * Any combination of the doctor search criteria: name substring, specialty and "am"/"pm" availability.
+ * Values are trimmed and lower-cased; blank values and the literal "null" sent by the dashboard mean
+ * "no filter". The same filter is evaluated in memory by the search index or pushed down to SQL.
+ */
+public class DoctorFilter {
+
+    private final String name;
+    private final String specialty;
+    private final String time;
+
+    private DoctorFilter(String name, String specialty, String time) {
+        this.name = name;
+        this.specialty = specialty;
+        this.time = time;
+    }
+
+    public static DoctorFilter of(String name, String specialty, String time) {
+        return new DoctorFilter(normalize(name), normalize(specialty), normalizeTime(time));
+    }
+
+    // In-memory evaluation against a single doctor
+    public boolean matches(Doctor doctor) {
+        if (name != null && !lower(doctor.getName()).contains(name)) return false;
+        if (specialty != null && !specialty.equals(lower(doctor.getSpecialty()))) return false;
+        return time == null || doctor.getAvailabilityTemplate().matches(time);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getSpecialty() {
+        return specialty;
+    }
+
+    public String getTime() {
+        return time;
+    }
+
+    // Only "am" and "pm" restrict the result; anything else is ignored
+    private static String normalizeTime(String value) {
+        String time = normalize(value);
+        return "am".equals(time) || "pm".equals(time) ? time : null;
+    }
+
+    private static String normalize(String value) {
+        if (value == null || value.isBlank() || "null".equalsIgnoreCase(value.trim())) return null;
+        return lower(value.trim());
+    }
+
+    private static String lower(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+}
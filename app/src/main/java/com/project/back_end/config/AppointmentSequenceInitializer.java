@@ -0,0 +1,45 @@
+package com.project.back_end.config;
+
+import com.project.back_end.models.Appointment;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the table-backed appointment_seq past the ids already in the appointment table before
+ * anything is booked. Databases created while Appointment still used IDENTITY get a fresh
+ * sequence starting at 1 from ddl-auto=update, which would hand out ids that already exist.
+ * Hibernate's pooled optimizer uses next_val as the top of a block of ALLOCATION_SIZE ids, so the
+ * sequence is kept at least one block above MAX(id). Safe to run on every start.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class AppointmentSequenceInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(AppointmentSequenceInitializer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public AppointmentSequenceInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void seed() {
+        long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM appointment", Long.class);
+        long floor = maxId + Appointment.ID_ALLOCATION_SIZE + 1;
+
+        Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + Appointment.ID_SEQUENCE, Integer.class);
+        if (rows == null || rows == 0) {
+            jdbcTemplate.update("INSERT INTO " + Appointment.ID_SEQUENCE + " (next_val) VALUES (?)", floor);
+        } else {
+            jdbcTemplate.update("UPDATE " + Appointment.ID_SEQUENCE + " SET next_val = GREATEST(next_val, ?)", floor);
+        }
+        log.info("{} seeded to at least {} (max appointment id {})", Appointment.ID_SEQUENCE, floor, maxId);
+    }
+}
@@ -0,0 +1,91 @@
+package com.project.back_end.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read/write split (datasource.routing.enabled=true). Writes and read-write transactions use the
+ * primary pool from spring.datasource.*; @Transactional(readOnly = true) work (including Spring
+ * Data's read methods) is sent to a replica. The lazy proxy defers fetching a physical connection
+ * until the first statement, by which time the transaction's read-only flag is known.
+ */
+@Configuration
+@EnableConfigurationProperties(ReadWriteRoutingProperties.class)
+@ConditionalOnProperty(name = "datasource.routing.enabled", havingValue = "true")
+public class ReadWriteRoutingConfig implements DisposableBean {
+
+    private final List<HikariDataSource> replicaPools = new ArrayList<>();
+    private ReplicaRoutingDataSource replicaRouting;
+
+    // Single primary pool, unless the workload pools (WorkloadPoolsConfig) take its place
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    @ConditionalOnProperty(name = "datasource.workloads.enabled", havingValue = "false", matchIfMissing = true)
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ObjectProvider<HikariDataSource> primaryDataSource,
+                                 ObjectProvider<WorkloadRoutingDataSource> workloadDataSource,
+                                 ReadWriteRoutingProperties properties,
+                                 ReadYourWritesTracker readYourWrites) {
+        DataSource primary = workloadDataSource.getIfAvailable();
+        if (primary == null) primary = primaryDataSource.getObject();
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<ReadWriteRoutingProperties.Replica> configured = properties.getReplicas();
+        for (int i = 0; i < configured.size(); i++) {
+            HikariDataSource pool = replicaPool("replica-" + i, configured.get(i));
+            replicaPools.add(pool);
+            replicas.put("replica-" + i, pool);
+        }
+        replicaRouting = new ReplicaRoutingDataSource(primary, replicas, readYourWrites,
+                properties.getMaxLagSeconds(), properties.getLagQuery(), properties.getLagColumn());
+        replicaRouting.refreshLag();
+
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+        proxy.setReadOnlyDataSource(replicaRouting);
+        return proxy;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.routing.lag-check-ms:1000}")
+    public void checkReplicaLag() {
+        if (replicaRouting != null) replicaRouting.refreshLag();
+    }
+
+    @Override
+    public void destroy() {
+        replicaPools.forEach(HikariDataSource::close);
+    }
+
+    private static HikariDataSource replicaPool(String name, ReadWriteRoutingProperties.Replica replica) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        dataSource.setJdbcUrl(replica.getUrl());
+        dataSource.setUsername(replica.getUsername());
+        dataSource.setPassword(replica.getPassword());
+        dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+}
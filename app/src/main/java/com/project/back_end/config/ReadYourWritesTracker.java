@@ -0,0 +1,63 @@
+package com.project.back_end.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which principals wrote recently, so that their reads stay on the primary until
+ * replicas have caught up. The principal of the current request is bound once its token has
+ * been validated; requests without one (scheduled jobs, anonymous endpoints) are never pinned.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private static final String PRINCIPAL_ATTRIBUTE = ReadYourWritesTracker.class.getName() + ".principal";
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    private final long windowMillis;
+
+    // principal -> time until which its reads go to the primary
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(@Value("${datasource.routing.read-your-writes-seconds:5}") long windowSeconds) {
+        this.windowMillis = windowSeconds * 1000;
+    }
+
+    // 1. Associate the current request with a principal (token identifier)
+    public void bindPrincipal(String principal) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null && principal != null) {
+            attributes.setAttribute(PRINCIPAL_ATTRIBUTE, principal, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    // 2. The current request's principal has written; pin its reads to the primary for the window
+    public void markWrite() {
+        String principal = currentPrincipal();
+        if (principal == null) return;
+
+        long now = System.currentTimeMillis();
+        if (pinnedUntil.size() > PRUNE_THRESHOLD) pinnedUntil.values().removeIf(until -> until <= now);
+        pinnedUntil.put(principal, now + windowMillis);
+    }
+
+    // 3. Whether reads of the current request must see the primary
+    public boolean mustReadPrimary() {
+        String principal = currentPrincipal();
+        if (principal == null) return false;
+
+        Long until = pinnedUntil.get(principal);
+        return until != null && until > System.currentTimeMillis();
+    }
+
+    private static String currentPrincipal() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes == null ? null
+                : (String) attributes.getAttribute(PRINCIPAL_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+}
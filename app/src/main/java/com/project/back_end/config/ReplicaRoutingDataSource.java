@@ -0,0 +1,100 @@
+package com.project.back_end.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Target of read-only connections: round-robins over replicas whose last measured lag is within
+ * bounds, and falls back to the primary when none is, or when the current principal has just
+ * written (read-your-own-writes window).
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final ReadYourWritesTracker readYourWrites;
+    private final long maxLagSeconds;
+    private final String lagQuery;
+    private final String lagColumn;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicaDataSources,
+                                    ReadYourWritesTracker readYourWrites,
+                                    long maxLagSeconds, String lagQuery, String lagColumn) {
+        this.readYourWrites = readYourWrites;
+        this.maxLagSeconds = maxLagSeconds;
+        this.lagQuery = lagQuery;
+        this.lagColumn = lagColumn;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicaDataSources.forEach((name, dataSource) -> {
+            targets.put(name, dataSource);
+            replicas.add(new Replica(name, dataSource));
+        });
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (readYourWrites.mustReadPrimary()) return PRIMARY;
+
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) return replica.name;
+        }
+        return PRIMARY;
+    }
+
+    // Measure every replica's lag; a failed probe or a stopped replication thread (NULL lag) takes it out
+    public void refreshLag() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try {
+                List<Map<String, Object>> status = new JdbcTemplate(replica.dataSource).queryForList(lagQuery);
+                Object lag = status.isEmpty() ? null : status.get(0).get(lagColumn);
+                healthy = lag instanceof Number seconds && seconds.longValue() <= maxLagSeconds;
+            } catch (RuntimeException e) {
+                healthy = false;
+            }
+            if (healthy != replica.healthy) {
+                log.warn("Read replica {} is now {}", replica.name, healthy ? "in rotation" : "out of rotation");
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    // Replicas currently eligible for reads
+    public List<String> getHealthyReplicas() {
+        List<String> healthy = new ArrayList<>();
+        for (Replica replica : replicas) {
+            if (replica.healthy) healthy.add(replica.name);
+        }
+        return healthy;
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        // Out of rotation until the first successful lag check
+        private volatile boolean healthy;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.project.back_end.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Enables @Scheduled jobs (agenda warm-up and other periodic maintenance); the scheduler pool is
+// sized by spring.task.scheduling.pool.size so long batch jobs do not starve the short periodic ones
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
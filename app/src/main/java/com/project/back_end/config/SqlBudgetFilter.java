@@ -0,0 +1,88 @@
+package com.project.back_end.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements each HTTP request issues on its request thread and flags requests
+ * over the configured budget, listing the query shapes repeated often enough to suggest N+1 loading.
+ * Publishes sql.statements.per.request and sql.budget.exceeded, tagged by route template.
+ */
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlBudgetFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int maxStatements;
+    private final int repeatThreshold;
+
+    public SqlBudgetFilter(MeterRegistry meterRegistry, int maxStatements, int repeatThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.maxStatements = maxStatements;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatementLog statements = SqlStatementLog.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            SqlStatementLog.stop();
+            report(request, statements);
+        }
+    }
+
+    private void report(HttpServletRequest request, SqlStatementLog statements) {
+        if (statements.getCount() == 0) return;
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = pattern != null ? pattern.toString() : "UNKNOWN";
+        meterRegistry.summary("sql.statements.per.request", "uri", route).record(statements.getCount());
+
+        Map<String, Integer> repeated = statements.getRepeated(repeatThreshold);
+        if (statements.getCount() > maxStatements || !repeated.isEmpty()) {
+            meterRegistry.counter("sql.budget.exceeded", "uri", route).increment();
+            log.warn("{} {} issued {} SQL statements (budget {}){}\n{}",
+                    request.getMethod(), route, statements.getCount(), maxStatements,
+                    repeated.isEmpty() ? "" : ", possible N+1", statements.describe());
+        }
+    }
+
+    /**
+     * Registers the statement inspector with Hibernate and the filter with the servlet container.
+     * Disabled with sql.budget.enabled=false.
+     */
+    @Configuration
+    @ConditionalOnProperty(name = "sql.budget.enabled", havingValue = "true", matchIfMissing = true)
+    public static class SqlBudgetConfig {
+
+        @Bean
+        public HibernatePropertiesCustomizer sqlStatementInspectorCustomizer() {
+            return properties -> properties.put("hibernate.session_factory.statement_inspector", new SqlStatementInspector());
+        }
+
+        @Bean
+        public SqlBudgetFilter sqlBudgetFilter(MeterRegistry meterRegistry,
+                                               @Value("${sql.budget.max-statements:20}") int maxStatements,
+                                               @Value("${sql.budget.repeat-threshold:5}") int repeatThreshold) {
+            return new SqlBudgetFilter(meterRegistry, maxStatements, repeatThreshold);
+        }
+    }
+}
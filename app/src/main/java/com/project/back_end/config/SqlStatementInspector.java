@@ -0,0 +1,18 @@
+package com.project.back_end.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate hook that reports every prepared statement to the thread's SqlStatementLog.
+ * The SQL is returned unchanged.
+ */
+public class SqlStatementInspector implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatementLog.record(sql);
+        return sql;
+    }
+}
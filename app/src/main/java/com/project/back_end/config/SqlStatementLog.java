@@ -0,0 +1,109 @@
+package com.project.back_end.config;
+
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Statements Hibernate prepared on the current thread, counted per normalized query shape.
+ * SqlBudgetFilter opens one log per HTTP request; tests use {@link #capture(Runnable)} to pin
+ * a code path to a maximum number of statements and to catch N+1 patterns (the same shape
+ * repeated many times).
+ */
+public final class SqlStatementLog {
+
+    private static final ThreadLocal<SqlStatementLog> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("in\\s*\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Map<String, Integer> countsByFingerprint = new LinkedHashMap<>();
+    private int count;
+
+    // 1. Start collecting statements on this thread (replaces any log already open)
+    public static SqlStatementLog start() {
+        SqlStatementLog log = new SqlStatementLog();
+        CURRENT.set(log);
+        return log;
+    }
+
+    // 2. Stop collecting on this thread
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    // 3. Run an action and return the statements it issued; an enclosing log is restored afterwards
+    public static SqlStatementLog capture(Runnable action) {
+        SqlStatementLog previous = CURRENT.get();
+        SqlStatementLog log = start();
+        try {
+            action.run();
+            return log;
+        } finally {
+            if (previous != null) CURRENT.set(previous);
+            else CURRENT.remove();
+        }
+    }
+
+    // Called by SqlStatementInspector for every statement Hibernate prepares
+    static void record(String sql) {
+        SqlStatementLog log = CURRENT.get();
+        if (log != null) log.add(sql);
+    }
+
+    void add(String sql) {
+        count++;
+        countsByFingerprint.merge(fingerprint(sql), 1, Integer::sum);
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public Map<String, Integer> getCountsByFingerprint() {
+        return Collections.unmodifiableMap(countsByFingerprint);
+    }
+
+    // Query shapes issued at least `threshold` times, most frequent first (N+1 suspects)
+    public Map<String, Integer> getRepeated(int threshold) {
+        return countsByFingerprint.entrySet().stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+    }
+
+    // Test assertion: at most `max` statements in total
+    public SqlStatementLog assertAtMost(int max) {
+        if (count > max) {
+            throw new AssertionError("Expected at most " + max + " SQL statements but got " + count + "\n" + describe());
+        }
+        return this;
+    }
+
+    // Test assertion: no query shape repeated `threshold` times or more
+    public SqlStatementLog assertNoRepeats(int threshold) {
+        Map<String, Integer> repeated = getRepeated(threshold);
+        if (!repeated.isEmpty()) {
+            throw new AssertionError("Possible N+1: statements repeated " + threshold + "+ times\n" + describe());
+        }
+        return this;
+    }
+
+    // Multi-line "count x fingerprint" summary, most frequent first
+    public String describe() {
+        return getRepeated(1).entrySet().stream()
+                .map(entry -> String.format("%5d x %s", entry.getValue(), entry.getKey()))
+                .collect(Collectors.joining("\n"));
+    }
+
+    // Normalized shape of a statement: literals and IN-lists collapsed, whitespace squeezed, lower case
+    static String fingerprint(String sql) {
+        String shape = sql.toLowerCase(Locale.ROOT);
+        shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = WHITESPACE.matcher(shape).replaceAll(" ").trim();
+        return IN_LIST.matcher(shape).replaceAll("in (?)");
+    }
+}
@@ -0,0 +1,17 @@
+package com.project.back_end.config;
+
+import java.lang.annotation.*;
+
+/**
+ * Routes the JDBC connections of the annotated service or repository (type or method) to the
+ * pool of the given workload class. The innermost annotation wins; a connection is chosen when
+ * a transaction starts, so an annotation on a method called inside a running transaction does
+ * not switch pools. Unannotated code inherits the caller's workload, or BOOKING if there is none.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Workload {
+
+    WorkloadClass value();
+}
@@ -0,0 +1,14 @@
+package com.project.back_end.config;
+
+// Workload classes that get their own JDBC connection pool when datasource.workloads.enabled=true
+public enum WorkloadClass {
+
+    // Interactive, latency-critical traffic: booking, login and token checks (the default)
+    BOOKING,
+
+    // Patient and doctor dashboard reads
+    DASHBOARD,
+
+    // Admin exports, archival and other batch or background work
+    REPORTING
+}
@@ -0,0 +1,35 @@
+package com.project.back_end.config;
+
+/**
+ * Workload class of the current thread, set by the @Workload interceptor. Code that hands work
+ * to another thread carries it over with peek() / enter() / restore().
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<WorkloadClass> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    public static WorkloadClass current() {
+        WorkloadClass workload = CURRENT.get();
+        return workload != null ? workload : WorkloadClass.BOOKING;
+    }
+
+    // Switch the thread to a workload; returns the previous value (possibly null) for restore()
+    public static WorkloadClass enter(WorkloadClass workload) {
+        WorkloadClass previous = CURRENT.get();
+        CURRENT.set(workload);
+        return previous;
+    }
+
+    public static void restore(WorkloadClass previous) {
+        if (previous == null) CURRENT.remove();
+        else CURRENT.set(previous);
+    }
+
+    // Raw value (null when not set), for propagation across threads
+    public static WorkloadClass peek() {
+        return CURRENT.get();
+    }
+}
@@ -0,0 +1,34 @@
+package com.project.back_end.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+import java.lang.reflect.Method;
+
+// Applies @Workload around a call; ordered before the transaction interceptor so the pool is known when the connection is taken
+class WorkloadInterceptor implements MethodInterceptor {
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        WorkloadClass previous = WorkloadContext.enter(resolve(invocation));
+        try {
+            return invocation.proceed();
+        } finally {
+            WorkloadContext.restore(previous);
+        }
+    }
+
+    // Method annotation first (implementation, then interface), then the type's
+    private static WorkloadClass resolve(MethodInvocation invocation) {
+        Method method = invocation.getMethod();
+        Class<?> targetClass = invocation.getThis() != null ? AopUtils.getTargetClass(invocation.getThis()) : method.getDeclaringClass();
+
+        Workload workload = AnnotatedElementUtils.findMergedAnnotation(AopUtils.getMostSpecificMethod(method, targetClass), Workload.class);
+        if (workload == null) workload = AnnotatedElementUtils.findMergedAnnotation(method, Workload.class);
+        if (workload == null) workload = AnnotatedElementUtils.findMergedAnnotation(targetClass, Workload.class);
+        if (workload == null) workload = AnnotatedElementUtils.findMergedAnnotation(method.getDeclaringClass(), Workload.class);
+        return workload != null ? workload.value() : WorkloadContext.current();
+    }
+}
@@ -0,0 +1,69 @@
+package com.project.back_end.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * datasource.workloads.*: size, wait timeout and wait-queue limit of each workload pool.
+ * All pools connect with spring.datasource.url / username / password.
+ */
+@ConfigurationProperties(prefix = "datasource.workloads")
+public class WorkloadPoolProperties {
+
+    private boolean enabled;
+    private Map<WorkloadClass, Pool> pools = new EnumMap<>(WorkloadClass.class);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Map<WorkloadClass, Pool> getPools() {
+        return pools;
+    }
+
+    public void setPools(Map<WorkloadClass, Pool> pools) {
+        this.pools = pools;
+    }
+
+    // Settings of a workload, with defaults for any class that is not configured
+    public Pool getPool(WorkloadClass workload) {
+        return pools.getOrDefault(workload, new Pool());
+    }
+
+    public static class Pool {
+
+        private int maximumPoolSize = 10;
+        private long connectionTimeoutMs = 2000;
+        private int maxQueue = 50;
+
+        public int getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        public void setMaximumPoolSize(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+
+        public long getConnectionTimeoutMs() {
+            return connectionTimeoutMs;
+        }
+
+        public void setConnectionTimeoutMs(long connectionTimeoutMs) {
+            this.connectionTimeoutMs = connectionTimeoutMs;
+        }
+
+        public int getMaxQueue() {
+            return maxQueue;
+        }
+
+        public void setMaxQueue(int maxQueue) {
+            this.maxQueue = maxQueue;
+        }
+    }
+}
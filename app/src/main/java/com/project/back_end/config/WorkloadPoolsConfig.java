@@ -0,0 +1,71 @@
+package com.project.back_end.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Bulkhead connection pools (datasource.workloads.enabled=true): booking/auth, dashboard reads and
+ * reporting each get their own Hikari pool, selected by @Workload on services and repositories.
+ * With read/write routing also enabled, these pools replace its single primary pool.
+ */
+@Configuration
+@EnableConfigurationProperties(WorkloadPoolProperties.class)
+@ConditionalOnProperty(name = "datasource.workloads.enabled", havingValue = "true")
+public class WorkloadPoolsConfig {
+
+    // Matches @Workload on a type (or its interfaces) and on methods; runs before @Transactional
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor workloadAdvisor() {
+        ComposablePointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(Workload.class, true))
+                .union(new AnnotationMatchingPointcut(null, Workload.class, true));
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, new WorkloadInterceptor());
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    @Bean(destroyMethod = "close")
+    public WorkloadRoutingDataSource workloadDataSource(DataSourceProperties dataSourceProperties,
+                                                       WorkloadPoolProperties properties,
+                                                       MeterRegistry meterRegistry) {
+        Map<WorkloadClass, HikariDataSource> pools = new EnumMap<>(WorkloadClass.class);
+        Map<WorkloadClass, Integer> maxQueue = new EnumMap<>(WorkloadClass.class);
+        for (WorkloadClass workload : WorkloadClass.values()) {
+            WorkloadPoolProperties.Pool settings = properties.getPool(workload);
+            HikariDataSource pool = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            pool.setPoolName(workload.name().toLowerCase());
+            pool.setMaximumPoolSize(settings.getMaximumPoolSize());
+            pool.setConnectionTimeout(settings.getConnectionTimeoutMs());
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            pools.put(workload, pool);
+            maxQueue.put(workload, settings.getMaxQueue());
+        }
+        return new WorkloadRoutingDataSource(pools, maxQueue, meterRegistry);
+    }
+
+    // Application DataSource when read/write routing is off (otherwise ReadWriteRoutingConfig wraps the pools)
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "datasource.routing.enabled", havingValue = "false", matchIfMissing = true)
+    public DataSource dataSource(WorkloadRoutingDataSource workloadDataSource) {
+        return workloadDataSource;
+    }
+}
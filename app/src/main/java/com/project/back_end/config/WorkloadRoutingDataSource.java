@@ -0,0 +1,89 @@
+package com.project.back_end.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * One Hikari pool per workload class (bulkheads), chosen from the thread's WorkloadContext.
+ * Besides its size and wait timeout, each pool has a queue limit: once that many threads are
+ * already waiting for a connection, further requests fail immediately instead of piling up.
+ * Publishes db.pool.saturation (active / max) and db.pool.rejections next to Hikari's own
+ * hikaricp.connections.* meters (acquire = wait time, pending, timeout).
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final Map<WorkloadClass, HikariDataSource> pools;
+    private final Map<WorkloadClass, Integer> maxQueue;
+    private final Map<WorkloadClass, Counter> rejections = new EnumMap<>(WorkloadClass.class);
+
+    public WorkloadRoutingDataSource(Map<WorkloadClass, HikariDataSource> pools, Map<WorkloadClass, Integer> maxQueue,
+                                     MeterRegistry meterRegistry) {
+        this.pools = pools;
+        this.maxQueue = maxQueue;
+
+        Map<Object, Object> targets = new HashMap<>(pools);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(pools.get(WorkloadClass.BOOKING));
+        afterPropertiesSet();
+
+        pools.forEach((workload, pool) -> {
+            String name = workload.name().toLowerCase();
+            Gauge.builder("db.pool.saturation", pool, WorkloadRoutingDataSource::saturation)
+                    .tag("pool", name)
+                    .description("Active connections as a fraction of the pool size")
+                    .register(meterRegistry);
+            rejections.put(workload, Counter.builder("db.pool.rejections")
+                    .tag("pool", name)
+                    .description("Connection requests refused because the pool's wait queue was full")
+                    .register(meterRegistry));
+        });
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return WorkloadContext.current();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        checkQueue(WorkloadContext.current());
+        return super.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        checkQueue(WorkloadContext.current());
+        return super.getConnection(username, password);
+    }
+
+    public void close() {
+        pools.values().forEach(HikariDataSource::close);
+    }
+
+    private void checkQueue(WorkloadClass workload) throws SQLException {
+        HikariDataSource pool = pools.get(workload);
+        if (pool == null || pool.getHikariPoolMXBean() == null) return;
+
+        int waiting = pool.getHikariPoolMXBean().getThreadsAwaitingConnection();
+        if (waiting >= maxQueue.getOrDefault(workload, Integer.MAX_VALUE)) {
+            rejections.get(workload).increment();
+            throw new SQLTransientConnectionException(
+                    pool.getPoolName() + " pool saturated: " + waiting + " requests already waiting");
+        }
+    }
+
+    private static double saturation(HikariDataSource pool) {
+        if (pool.getHikariPoolMXBean() == null) return 0;
+        return (double) pool.getHikariPoolMXBean().getActiveConnections() / pool.getMaximumPoolSize();
+    }
+}
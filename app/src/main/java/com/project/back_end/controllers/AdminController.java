@@ -1,21 +1,34 @@
 package com.project.back_end.controllers;
 
 import com.project.back_end.model.Admin;
+import com.project.back_end.services.AppointmentExportService;
+import com.project.back_end.services.CacheStatisticsService;
 import com.project.back_end.services.Service;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("${api.path}admin")
 public class AdminController {
 
     private final Service service;
+    private final CacheStatisticsService cacheStatisticsService;
+    private final AppointmentExportService appointmentExportService;
 
-    // Constructor injection of the Service dependency
-    public AdminController(Service service) {
+    // Constructor injection of the Service dependencies
+    public AdminController(Service service, CacheStatisticsService cacheStatisticsService,
+                           AppointmentExportService appointmentExportService) {
         this.service = service;
+        this.cacheStatisticsService = cacheStatisticsService;
+        this.appointmentExportService = appointmentExportService;
     }
 
     // POST endpoint for admin login
@@ -23,4 +36,55 @@ public class AdminController {
     public ResponseEntity<Map<String, String>> adminLogin(@RequestBody Admin admin) {
         return service.validateAdmin(admin);
     }
+
+    // GET endpoint for per-region statistics of the doctor second-level cache
+    @GetMapping("/cache/{token}")
+    public ResponseEntity<Map<String, Object>> doctorCacheStatistics(@PathVariable String token) {
+        ResponseEntity<Map<String, String>> validationResponse = service.validateToken(token, "admin");
+        if (validationResponse.getStatusCode().isError()) {
+            return ResponseEntity.status(validationResponse.getStatusCode()).body(Map.of("error", "Unauthorized access"));
+        }
+        return ResponseEntity.ok(Map.of("regions", cacheStatisticsService.getDoctorCacheStatistics()));
+    }
+
+    // GET endpoint streaming an appointment extract (from inclusive, to exclusive) as NDJSON or CSV, optionally gzipped
+    @GetMapping("/export/appointments/{token}")
+    public ResponseEntity<?> exportAppointments(
+            @PathVariable String token,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = AppointmentExportService.FORMAT_NDJSON) String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+
+        ResponseEntity<Map<String, String>> validationResponse = service.validateToken(token, "admin");
+        if (validationResponse.getStatusCode().isError()) {
+            return ResponseEntity.status(validationResponse.getStatusCode()).body(Map.of("error", "Unauthorized access"));
+        }
+        boolean csv = AppointmentExportService.FORMAT_CSV.equalsIgnoreCase(format);
+        if (!csv && !AppointmentExportService.FORMAT_NDJSON.equalsIgnoreCase(format)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Format must be ndjson or csv"));
+        }
+        if (!from.isBefore(to)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "'from' must be before 'to'"));
+        }
+
+        String filename = "appointments-" + from + "-" + to + (csv ? ".csv" : ".ndjson") + (gzip ? ".gz" : "");
+        MediaType contentType = gzip
+                ? MediaType.parseMediaType("application/gzip")
+                : MediaType.parseMediaType(csv ? "text/csv" : "application/x-ndjson");
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                try (GZIPOutputStream zipped = new GZIPOutputStream(out, 64 * 1024)) {
+                    appointmentExportService.export(from, to, format, zipped);
+                }
+            } else {
+                appointmentExportService.export(from, to, format, out);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
 }
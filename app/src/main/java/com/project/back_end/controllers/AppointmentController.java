@@ -1,6 +1,16 @@
 package com.project.back_end.controllers;
 
+import com.project.back_end.models.Appointment;
+import com.project.back_end.services.AppointmentService;
+import com.project.back_end.services.Service;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/appointments")
 public class AppointmentController {
 
 // 1. Set Up the Controller Class:
@@ -13,6 +23,17 @@ public class AppointmentController {
 //    - Inject `AppointmentService` for handling the business logic specific to appointments.
 //    - Inject the general `Service` class, which provides shared functionality like token validation and appointment checks.
 
+    // Upper bound on rows accepted by one bulk request
+    private static final int MAX_BATCH_SIZE = 5000;
+
+    private final AppointmentService appointmentService;
+    private final Service service;
+
+    public AppointmentController(AppointmentService appointmentService, Service service) {
+        this.appointmentService = appointmentService;
+        this.service = service;
+    }
+
 
 // 3. Define the `getAppointments` Method:
 //    - Handles HTTP GET requests to fetch appointments based on date and patient name.
@@ -45,4 +66,44 @@ public class AppointmentController {
 //    - Calls `AppointmentService` to handle the cancellation process and returns the result.
 
 
+    // 7. Bulk booking (recurring appointments imported by the clinic); every row gets the same bean
+    //    validation as a single booking and invalid rows are reported back by position
+    @PostMapping("/batch/{token}")
+    public ResponseEntity<Map<String, Object>> bookAppointments(
+            @RequestBody List<Appointment> appointments,
+            @PathVariable String token) {
+
+        ResponseEntity<Map<String, String>> validationResponse = service.validateToken(token, "admin");
+        if (validationResponse.getStatusCode().isError()) {
+            return ResponseEntity.status(validationResponse.getStatusCode()).body(Map.of("error", "Unauthorized access"));
+        }
+        if (appointments.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().body(Map.of("error", "At most " + MAX_BATCH_SIZE + " appointments per batch"));
+        }
+
+        try {
+            return ResponseEntity.status(201).body(appointmentService.bookAppointments(appointments));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(Map.of("message", "Batch could not be booked, nothing was saved"));
+        }
+    }
+
+    // 8. Bulk status update (e.g. mark a day's appointments completed)
+    @PutMapping("/status/{status}/{token}")
+    public ResponseEntity<Map<String, Object>> updateAppointmentStatuses(
+            @RequestBody List<Long> ids,
+            @PathVariable int status,
+            @PathVariable String token) {
+
+        ResponseEntity<Map<String, String>> validationResponse = service.validateToken(token, "admin");
+        if (validationResponse.getStatusCode().isError()) {
+            return ResponseEntity.status(validationResponse.getStatusCode()).body(Map.of("error", "Unauthorized access"));
+        }
+        if (status != 0 && status != 1) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Status must be 0 (scheduled) or 1 (completed)"));
+        }
+
+        int updated = appointmentService.updateAppointmentStatuses(ids, status);
+        return ResponseEntity.ok(Map.of("updated", updated));
+    }
 }
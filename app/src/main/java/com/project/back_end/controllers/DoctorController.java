@@ -4,6 +4,9 @@ import com.project.back_end.model.Doctor;
 import com.project.back_end.model.Login;
 import com.project.back_end.services.DoctorService;
 import com.project.back_end.services.Service;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -15,6 +18,9 @@ import java.util.Map;
 @RequestMapping("${api.path}doctor")
 public class DoctorController {
 
+    // Clients may keep the roster but must revalidate it (a cheap 304) before each use
+    private static final CacheControl ROSTER_CACHE_CONTROL = CacheControl.noCache().cachePublic();
+
     private final DoctorService doctorService;
     private final Service service;
 
@@ -44,11 +50,17 @@ public class DoctorController {
         return ResponseEntity.ok(availability);
     }
 
-    // 2. Get List of Doctors
+    // 2. Get List of Doctors (304 without a database read when the client's roster version is current)
     @GetMapping
-    public ResponseEntity<Map<String, List<Doctor>>> getDoctors() {
+    public ResponseEntity<Map<String, List<Doctor>>> getDoctors(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        String etag = doctorService.getRosterEtag();
+        if (etagMatches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(ROSTER_CACHE_CONTROL).build();
+        }
         List<Doctor> doctors = doctorService.getDoctors();
-        return ResponseEntity.ok(Map.of("doctors", doctors));
+        return ResponseEntity.ok().eTag(etag).cacheControl(ROSTER_CACHE_CONTROL).body(Map.of("doctors", doctors));
     }
 
     // 3. Add New Doctor
@@ -125,9 +137,25 @@ public class DoctorController {
     public ResponseEntity<Map<String, Object>> filter(
             @PathVariable String name,
             @PathVariable String time,
-            @PathVariable String speciality) {
+            @PathVariable String speciality,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
+        String etag = doctorService.getRosterEtag();
+        if (etagMatches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(ROSTER_CACHE_CONTROL).build();
+        }
         Map<String, Object> filteredDoctors = service.filterDoctor(name, speciality, time);
-        return ResponseEntity.ok(filteredDoctors);
+        return ResponseEntity.ok().eTag(etag).cacheControl(ROSTER_CACHE_CONTROL).body(filteredDoctors);
+    }
+
+    // If-None-Match uses weak comparison, so W/"x" matches "x"; "*" matches any current representation
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if (tag.equals("*") || tag.equals(etag)) return true;
+        }
+        return false;
     }
 }
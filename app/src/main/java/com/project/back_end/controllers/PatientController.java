@@ -1,13 +1,17 @@
 package com.project.back_end.controllers;
 
+import com.project.back_end.DTO.AppointmentCursor;
 import com.project.back_end.model.Login;
 import com.project.back_end.model.Patient;
+import com.project.back_end.services.PatientDashboardService;
 import com.project.back_end.services.PatientService;
 import com.project.back_end.services.Service;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -17,11 +21,14 @@ public class PatientController {
 
     private final PatientService patientService;
     private final Service service;
+    private final PatientDashboardService patientDashboardService;
 
     // Constructor injection
-    public PatientController(PatientService patientService, Service service) {
+    public PatientController(PatientService patientService, Service service,
+                             PatientDashboardService patientDashboardService) {
         this.patientService = patientService;
         this.service = service;
+        this.patientDashboardService = patientDashboardService;
     }
 
     // 1. Get Patient Details by token
@@ -77,7 +84,10 @@ public class PatientController {
     public ResponseEntity<?> filterPatientAppointment(
             @PathVariable String condition,
             @PathVariable String name,
-            @PathVariable String token) {
+            @PathVariable String token,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate since) {
 
         ResponseEntity<Map<String, String>> validationResponse = service.validateToken(token, "patient");
         if (validationResponse.getStatusCode().isError()) {
@@ -85,7 +95,21 @@ public class PatientController {
                     .body(Map.of("error", "Invalid or expired token"));
         }
 
-        ResponseEntity<Map<String, Object>> filteredResult = service.filterPatient(condition, name, token);
+        // `since` older than the retention window also returns archived history (not with a doctor name filter)
+        ResponseEntity<Map<String, Object>> filteredResult = service.filterPatient(condition, name, token,
+                AppointmentCursor.parse(cursor, size), since);
         return ResponseEntity.status(filteredResult.getStatusCode()).body(filteredResult.getBody());
     }
+
+    // 6. Patient dashboard in one call (profile, appointments and their prescriptions)
+    @GetMapping("/dashboard/{token}")
+    public ResponseEntity<?> getDashboard(@PathVariable String token) {
+        ResponseEntity<Map<String, String>> validationResponse = service.validateToken(token, "patient");
+        if (validationResponse.getStatusCode().isError()) {
+            return ResponseEntity.status(validationResponse.getStatusCode())
+                    .body(Map.of("error", "Invalid or expired token"));
+        }
+
+        return patientDashboardService.getDashboard(token);
+    }
 }
@@ -11,12 +11,16 @@ import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
 @RequestMapping("${api.path}prescription")
 public class PrescriptionController {
 
+    // Upper bound on appointment ids in one batch lookup
+    private static final int MAX_BATCH_SIZE = 500;
+
     private final PrescriptionService prescriptionService;
     private final Service service;
     private final AppointmentService appointmentService;
@@ -59,6 +63,25 @@ public class PrescriptionController {
         return prescriptionService.getPrescription(appointmentId);
     }
 
+    // 3. Get Prescriptions of many appointments in one call; doctor-only like the single lookup,
+    //    and doctorNotes are left out unless asked for
+    @GetMapping("/batch/{token}")
+    public ResponseEntity<?> getPrescriptions(@PathVariable String token,
+                                              @RequestParam List<Long> appointmentIds,
+                                              @RequestParam(defaultValue = "false") boolean includeNotes) {
+        // Validate token for "doctor" role
+        ResponseEntity<Map<String, String>> validationResponse = service.validateToken(token, "doctor");
+        if (validationResponse.getStatusCode().isError()) {
+            return ResponseEntity.status(validationResponse.getStatusCode())
+                    .body(Map.of("error", "Invalid or expired token"));
+        }
+        if (appointmentIds.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().body(Map.of("error", "At most " + MAX_BATCH_SIZE + " appointment ids per request"));
+        }
+
+        return prescriptionService.getPrescriptions(appointmentIds, includeNotes);
+    }
+
 
     // Validation exception handler for @Valid
     @RestControllerAdvice
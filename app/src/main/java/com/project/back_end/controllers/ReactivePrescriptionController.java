@@ -0,0 +1,92 @@
+package com.project.back_end.controllers;
+
+import com.project.back_end.models.Prescription;
+import com.project.back_end.services.AppointmentService;
+import com.project.back_end.services.ReactivePrescriptionService;
+import com.project.back_end.services.Service;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Non-blocking prescription endpoints. Spring MVC releases the servlet thread as soon as a
+ * Mono/Flux is returned, so end-of-day prescription bursts do not hold threads needed for bookings.
+ * Token checks and the appointment status update still go through the blocking JPA services
+ * and are therefore moved onto the bounded elastic scheduler.
+ */
+@RestController
+@RequestMapping("${api.path}reactive/prescription")
+public class ReactivePrescriptionController {
+
+    // Upper bound on appointment ids in one batch lookup
+    private static final int MAX_BATCH_SIZE = 500;
+
+    private final ReactivePrescriptionService prescriptionService;
+    private final Service service;
+    private final AppointmentService appointmentService;
+
+    public ReactivePrescriptionController(ReactivePrescriptionService prescriptionService, Service service,
+                                          AppointmentService appointmentService) {
+        this.prescriptionService = prescriptionService;
+        this.service = service;
+        this.appointmentService = appointmentService;
+    }
+
+    // 1. Save Prescription and mark its appointment as completed
+    @PostMapping("/{token}")
+    public Mono<ResponseEntity<Map<String, String>>> savePrescription(@PathVariable String token,
+                                                                      @Valid @RequestBody Prescription prescription) {
+        return rejection(token, "doctor").switchIfEmpty(Mono.defer(() ->
+                prescriptionService.savePrescription(prescription).flatMap(response -> {
+                    if (response.getStatusCode() != HttpStatus.CREATED) return Mono.just(response);
+                    return blocking(() -> appointmentService.updateAppointmentStatuses(
+                            List.of(prescription.getAppointmentId()), 1))
+                            .thenReturn(response);
+                })));
+    }
+
+    // 2. Get Prescription by Appointment ID
+    @GetMapping("/{appointmentId}/{token}")
+    public Mono<ResponseEntity<?>> getPrescription(@PathVariable Long appointmentId, @PathVariable String token) {
+        return rejection(token, "doctor")
+                .<ResponseEntity<?>>map(error -> error)
+                .switchIfEmpty(Mono.defer(() -> prescriptionService.getPrescription(appointmentId)));
+    }
+
+    // 3. Stream prescriptions of many appointments as NDJSON (doctor-only, doctorNotes on request); each
+    //    document is written as soon as it arrives and the Mongo cursor only advances as fast as the client reads
+    @GetMapping(value = "/batch/{token}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Prescription> streamPrescriptions(@PathVariable String token,
+                                                  @RequestParam List<Long> appointmentIds,
+                                                  @RequestParam(defaultValue = "false") boolean includeNotes) {
+        if (appointmentIds.size() > MAX_BATCH_SIZE) {
+            return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + MAX_BATCH_SIZE + " appointment ids per request"));
+        }
+        return rejection(token, "doctor")
+                .flatMap(error -> Mono.<Void>error(new ResponseStatusException(error.getStatusCode(), "Invalid or expired token")))
+                .thenMany(Flux.defer(() -> prescriptionService.streamPrescriptions(appointmentIds, includeNotes)));
+    }
+
+    // Error response for an invalid token; completes empty when the token is valid for the role
+    private Mono<ResponseEntity<Map<String, String>>> rejection(String token, String user) {
+        return blocking(() -> service.validateToken(token, user))
+                .filter(validation -> validation.getStatusCode().isError())
+                .map(validation -> ResponseEntity.status(validation.getStatusCode())
+                        .body(Map.of("error", "Invalid or expired token")));
+    }
+
+    private static <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+}
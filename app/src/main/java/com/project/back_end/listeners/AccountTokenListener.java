@@ -0,0 +1,38 @@
+package com.project.back_end.listeners;
+
+import com.project.back_end.models.Admin;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.Patient;
+import com.project.back_end.services.TokenService;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener on the account entities (Admin, Doctor, Patient). When an account is updated or
+ * deleted, its cached tokens are dropped after the transaction commits, whichever service made
+ * the change. TokenService is looked up lazily because listeners are created with the
+ * EntityManagerFactory, before the repositories it depends on exist.
+ */
+@Component
+public class AccountTokenListener {
+
+    private final ObjectProvider<TokenService> tokenService;
+
+    public AccountTokenListener(ObjectProvider<TokenService> tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void accountChanged(Object account) {
+        if (account instanceof Admin admin) {
+            tokenService.getObject().invalidate("admin", admin.getId(), admin.getUsername());
+        } else if (account instanceof Doctor doctor) {
+            tokenService.getObject().invalidate("doctor", doctor.getId(), doctor.getEmail());
+        } else if (account instanceof Patient patient) {
+            tokenService.getObject().invalidate("patient", patient.getId(), patient.getEmail());
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.project.back_end.models;
 
+import com.project.back_end.listeners.AccountTokenListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 @Entity
+// Cached tokens of the account are dropped when it is updated or deleted
+@EntityListeners(AccountTokenListener.class)
 public class Admin {
 
     @Id
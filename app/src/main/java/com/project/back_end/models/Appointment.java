@@ -9,10 +9,30 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 @Entity
+@Table(
+        indexes = {
+                // Supports keyset paging of a patient's history on (appointmentTime, id)
+                @Index(name = "idx_appointment_patient_time", columnList = "patient_id, appointment_time, id"),
+                // Drives the auto-completion job's keyset range scan (appointment_time, id) from its watermark
+                @Index(name = "idx_appointment_time", columnList = "appointment_time, id")
+        },
+        uniqueConstraints = {
+                // A doctor slot can be booked once; concurrent bookings lose on this key
+                @UniqueConstraint(name = Appointment.SLOT_CONSTRAINT, columnNames = {"doctor_id", "appointment_time"})
+        })
 public class Appointment {
 
+    // Unique key on (doctor_id, appointment_time); a violation of this one means "slot taken"
+    public static final String SLOT_CONSTRAINT = "uk_appointment_doctor_time";
+
+    // Id sequence (a table on MySQL), seeded past existing ids by AppointmentSequenceInitializer
+    public static final String ID_SEQUENCE = "appointment_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Pooled sequence ids (50 per round trip) instead of IDENTITY, which disables JDBC insert batching
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne
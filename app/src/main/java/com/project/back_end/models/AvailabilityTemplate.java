@@ -0,0 +1,86 @@
+package com.project.back_end.models;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * Immutable, pre-parsed view of a doctor's availableTimes.
+ * Slots such as "09:00-10:00" are sorted by start time and kept as minutes since midnight,
+ * with the number of morning and afternoon slots counted up front.
+ */
+public final class AvailabilityTemplate {
+
+    private static final int NOON = 12 * 60;
+    private static final AvailabilityTemplate EMPTY = new AvailabilityTemplate(List.of(), new short[0], 0);
+
+    private final List<String> slots;
+    private final short[] startMinutes;
+    private final int amCount;
+
+    private AvailabilityTemplate(List<String> slots, short[] startMinutes, int amCount) {
+        this.slots = slots;
+        this.startMinutes = startMinutes;
+        this.amCount = amCount;
+    }
+
+    // Build a template from the raw slot strings; duplicates and unparseable entries are dropped
+    public static AvailabilityTemplate of(List<String> availableTimes) {
+        if (availableTimes == null || availableTimes.isEmpty()) return EMPTY;
+
+        TreeMap<Integer, String> byStart = new TreeMap<>();
+        for (String slot : availableTimes) {
+            int start = parseStartMinute(slot);
+            if (start >= 0) byStart.putIfAbsent(start, slot);
+        }
+
+        short[] starts = new short[byStart.size()];
+        int i = 0;
+        int am = 0;
+        for (int start : byStart.keySet()) {
+            starts[i++] = (short) start;
+            if (start < NOON) am++;
+        }
+        return new AvailabilityTemplate(List.copyOf(byStart.values()), starts, am);
+    }
+
+    // Start of a slot ("09:00-10:00" or "09:00") in minutes since midnight, or -1 if it cannot be parsed
+    public static int parseStartMinute(String slot) {
+        if (slot == null) return -1;
+        try {
+            LocalTime start = LocalTime.parse(slot.split("-")[0].trim());
+            return start.getHour() * 60 + start.getMinute();
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+
+    public int size() {
+        return startMinutes.length;
+    }
+
+    public String slotAt(int index) {
+        return slots.get(index);
+    }
+
+    // Index of the slot starting at the given time, or -1 if the doctor has no such slot
+    public int indexOf(LocalTime time) {
+        int index = Arrays.binarySearch(startMinutes, (short) (time.getHour() * 60 + time.getMinute()));
+        return index >= 0 ? index : -1;
+    }
+
+    public int getAmCount() {
+        return amCount;
+    }
+
+    public int getPmCount() {
+        return startMinutes.length - amCount;
+    }
+
+    // "am" / "pm" filter check; any other value matches every template with at least one slot
+    public boolean matches(String amOrPm) {
+        if ("am".equalsIgnoreCase(amOrPm)) return amCount > 0;
+        if ("pm".equalsIgnoreCase(amOrPm)) return getPmCount() > 0;
+        return startMinutes.length > 0;
+    }
+}
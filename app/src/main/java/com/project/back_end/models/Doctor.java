@@ -1,12 +1,26 @@
 package com.project.back_end.models;
 
+import com.project.back_end.listeners.AccountTokenListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "doctor")
+@NaturalIdCache(region = "doctor.naturalId")
+@Table(indexes = {
+        @Index(name = "idx_doctor_specialty", columnList = "specialty")
+})
+// Cached tokens of the account are dropped when it is updated or deleted
+@EntityListeners(AccountTokenListener.class)
 public class Doctor {
 
     @Id
@@ -21,6 +35,8 @@ public class Doctor {
     @Size(min = 3, max = 50, message = "Specialty must be between 3 and 50 characters")
     private String specialty;
 
+    // Natural id so that login/token lookups by email are served from the second-level cache
+    @NaturalId(mutable = true)
     @NotNull(message = "Email cannot be null")
     @Email(message = "Email should be valid")
     private String email;
@@ -35,8 +51,14 @@ public class Doctor {
     private String phone;
 
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "doctor.availableTimes")
     private List<String> availableTimes;
 
+    // Parsed view of availableTimes, built once on first use and dropped when the list is replaced
+    @Transient
+    @JsonIgnore
+    private volatile AvailabilityTemplate availabilityTemplate;
+
     // Constructors
     public Doctor() {
     }
@@ -107,5 +129,24 @@ public class Doctor {
 
     public void setAvailableTimes(List<String> availableTimes) {
         this.availableTimes = availableTimes;
+        this.availabilityTemplate = null;
+    }
+
+    // Built lazily rather than in @PostLoad so that loading a Doctor does not force the availableTimes collection
+    @JsonIgnore
+    public AvailabilityTemplate getAvailabilityTemplate() {
+        AvailabilityTemplate template = availabilityTemplate;
+        if (template == null) {
+            template = AvailabilityTemplate.of(availableTimes);
+            availabilityTemplate = template;
+        }
+        return template;
+    }
+
+    // Re-parse after a flush in case availableTimes was modified in place
+    @PostUpdate
+    @PostPersist
+    private void resetAvailabilityTemplate() {
+        this.availabilityTemplate = null;
     }
 }
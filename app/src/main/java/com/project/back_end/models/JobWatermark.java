@@ -0,0 +1,58 @@
+package com.project.back_end.models;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a keyset-driven background job: the (time, id) position of the last row it has
+ * processed. Saved in the same transaction as each chunk, so a restarted job resumes after the
+ * last committed chunk.
+ */
+@Entity
+@Table(name = "job_watermark")
+public class JobWatermark {
+
+    @Id
+    @Column(length = 64)
+    private String jobName;
+
+    private LocalDateTime lastTime;
+
+    private Long lastId;
+
+    private LocalDateTime updatedAt;
+
+    public JobWatermark() {
+        // Default constructor for JPA
+    }
+
+    public JobWatermark(String jobName, LocalDateTime lastTime, Long lastId) {
+        this.jobName = jobName;
+        this.lastTime = lastTime;
+        this.lastId = lastId;
+    }
+
+    // Move past a processed row
+    public void advance(LocalDateTime time, Long id) {
+        this.lastTime = time;
+        this.lastId = id;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public String getJobName() {
+        return jobName;
+    }
+
+    public LocalDateTime getLastTime() {
+        return lastTime;
+    }
+
+    public Long getLastId() {
+        return lastId;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -1,9 +1,12 @@
 package com.project.back_end.models;
 
+import com.project.back_end.listeners.AccountTokenListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 
 @Entity
+// Cached tokens of the account are dropped when it is updated or deleted
+@EntityListeners(AccountTokenListener.class)
 public class Patient {
 
     @Id
@@ -1,6 +1,7 @@
 package com.project.back_end.models;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import jakarta.validation.constraints.NotNull;
@@ -16,6 +17,8 @@ public class Prescription {
     @Size(min = 3, max = 100, message = "Patient name must be between 3 and 100 characters")
     private String patientName;
 
+    // One prescription per appointment, enforced by a unique index so saving is a single insert-or-reject
+    @Indexed(unique = true)
     @NotNull(message = "Appointment ID cannot be null")
     private Long appointmentId;
 
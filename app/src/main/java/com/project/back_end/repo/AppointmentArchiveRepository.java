@@ -0,0 +1,112 @@
+package com.project.back_end.repo;
+
+import com.project.back_end.DTO.AppointmentDTO;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+
+/**
+ * Cold store for completed appointments that have left the retention window of the hot
+ * appointment table. Rows are kept denormalized (doctor and patient details as of archival),
+ * in a compressed InnoDB table range-partitioned by month on appointment_time. Partitions are
+ * created by the application ahead of each archival chunk; the first partition also holds
+ * everything older than its month and pmax stays empty.
+ */
+@Repository
+public class AppointmentArchiveRepository {
+
+    static final String TABLE = "appointment_archive";
+
+    private static final String COLUMNS = "id, doctor_id, doctor_name, patient_id, patient_name, patient_email, " +
+            "patient_phone, patient_address, appointment_time, status";
+
+    private static final RowMapper<AppointmentDTO> ROW_MAPPER = (rs, rowNum) -> new AppointmentDTO(
+            rs.getLong("id"), rs.getLong("doctor_id"), rs.getString("doctor_name"),
+            rs.getLong("patient_id"), rs.getString("patient_name"), rs.getString("patient_email"),
+            rs.getString("patient_phone"), rs.getString("patient_address"),
+            rs.getObject("appointment_time", LocalDateTime.class), rs.getInt("status"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Month partitions known to exist (lazily read from information_schema)
+    private NavigableSet<YearMonth> partitions;
+
+    @Autowired
+    public AppointmentArchiveRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // 1. Make sure every month in [from, through] has a partition, creating the table on first use.
+    //    DDL commits implicitly in MySQL, so this must run outside the chunk transaction.
+    public synchronized void ensurePartitions(YearMonth from, YearMonth through) {
+        if (partitions == null) partitions = loadPartitions();
+
+        if (partitions.isEmpty()) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + TABLE + " (" +
+                    "id BIGINT NOT NULL, doctor_id BIGINT NOT NULL, doctor_name VARCHAR(100), " +
+                    "patient_id BIGINT NOT NULL, patient_name VARCHAR(100), patient_email VARCHAR(255), " +
+                    "patient_phone VARCHAR(20), patient_address VARCHAR(255), " +
+                    "appointment_time DATETIME(6) NOT NULL, status INT NOT NULL, archived_at DATETIME(6) NOT NULL, " +
+                    "PRIMARY KEY (id, appointment_time), " +
+                    "KEY idx_archive_patient_time (patient_id, appointment_time, id)" +
+                    ") ROW_FORMAT=COMPRESSED KEY_BLOCK_SIZE=8 " +
+                    "PARTITION BY RANGE COLUMNS(appointment_time) (" +
+                    partitionClause(from) + ", PARTITION pmax VALUES LESS THAN (MAXVALUE))");
+            partitions.add(from);
+        }
+
+        for (YearMonth month = partitions.last().plusMonths(1); !month.isAfter(through); month = month.plusMonths(1)) {
+            // pmax is always empty, so splitting it does not move any rows
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " REORGANIZE PARTITION pmax INTO (" +
+                    partitionClause(month) + ", PARTITION pmax VALUES LESS THAN (MAXVALUE))");
+            partitions.add(month);
+        }
+    }
+
+    // 2. Copy hot rows (completed only) joined with their doctor and patient; re-running a chunk is a no-op
+    public int copyFromHot(Collection<Long> ids) {
+        if (ids.isEmpty()) return 0;
+        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+        return jdbcTemplate.update("INSERT IGNORE INTO " + TABLE + " (" + COLUMNS + ", archived_at) " +
+                "SELECT a.id, d.id, d.name, p.id, p.name, p.email, p.phone, p.address, a.appointment_time, a.status, NOW(6) " +
+                "FROM appointment a JOIN doctor d ON d.id = a.doctor_id JOIN patient p ON p.id = a.patient_id " +
+                "WHERE a.status = 1 AND a.id IN (" + placeholders + ")", ids.toArray());
+    }
+
+    // 3. A patient's archived appointments from a date on; the lower bound prunes older partitions
+    public List<AppointmentDTO> findByPatientId(Long patientId, LocalDateTime from) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM " + TABLE +
+                " WHERE patient_id = ? AND appointment_time >= ? ORDER BY appointment_time, id",
+                ROW_MAPPER, patientId, from);
+    }
+
+    // 4. Same as above for one status
+    public List<AppointmentDTO> findByPatientIdAndStatus(Long patientId, int status, LocalDateTime from) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM " + TABLE +
+                " WHERE patient_id = ? AND status = ? AND appointment_time >= ? ORDER BY appointment_time, id",
+                ROW_MAPPER, patientId, status, from);
+    }
+
+    private NavigableSet<YearMonth> loadPartitions() {
+        NavigableSet<YearMonth> months = new TreeSet<>();
+        for (String name : jdbcTemplate.queryForList(
+                "SELECT partition_name FROM information_schema.partitions " +
+                "WHERE table_schema = DATABASE() AND table_name = ? AND partition_name LIKE 'p______'",
+                String.class, TABLE)) {
+            months.add(YearMonth.of(Integer.parseInt(name.substring(1, 5)), Integer.parseInt(name.substring(5, 7))));
+        }
+        return months;
+    }
+
+    // "PARTITION p202501 VALUES LESS THAN ('2025-02-01')"
+    private static String partitionClause(YearMonth month) {
+        return String.format("PARTITION p%04d%02d VALUES LESS THAN ('%s')",
+                month.getYear(), month.getMonthValue(), month.plusMonths(1).atDay(1));
+    }
+}
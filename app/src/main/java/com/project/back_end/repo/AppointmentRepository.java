@@ -1,18 +1,31 @@
 package com.project.back_end.repo;
 
+import com.project.back_end.DTO.AppointmentDTO;
+import com.project.back_end.config.Workload;
+import com.project.back_end.config.WorkloadClass;
 import com.project.back_end.model.Appointment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
 
+    // Constructor expression used by the read-only listing queries; expects aliases a (appointment), d (doctor), p (patient)
+    String DTO_PROJECTION = "new com.project.back_end.DTO.AppointmentDTO(" +
+            "a.id, d.id, d.name, p.id, p.name, p.email, p.phone, p.address, a.appointmentTime, a.status)";
+
     // 1. Appointments by doctor and time range (with joins)
     @Query("SELECT a FROM Appointment a " +
            "LEFT JOIN FETCH a.doctor d " +
@@ -39,22 +52,103 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     // 5. Find appointments by patient ID and status, ordered by appointment time
     List<Appointment> findByPatient_IdAndStatusOrderByAppointmentTimeAsc(Long patientId, int status);
 
-    // 6. Filter appointments by doctor name and patient ID
-    @Query("SELECT a FROM Appointment a " +
-           "JOIN a.doctor d " +
-           "WHERE LOWER(d.name) LIKE LOWER(CONCAT('%', :doctorName, '%')) AND a.patient.id = :patientId")
-    List<Appointment> filterByDoctorNameAndPatientId(String doctorName, Long patientId);
+    // 6. Filter appointments by doctor name and patient ID, one keyset page after (afterTime, afterId)
+    @Query("SELECT " + DTO_PROJECTION + " FROM Appointment a " +
+           "JOIN a.doctor d JOIN a.patient p " +
+           "WHERE LOWER(d.name) LIKE LOWER(CONCAT('%', :doctorName, '%')) AND p.id = :patientId " +
+           "AND (:afterTime IS NULL OR a.appointmentTime > :afterTime " +
+           "OR (a.appointmentTime = :afterTime AND a.id > :afterId)) " +
+           "ORDER BY a.appointmentTime ASC, a.id ASC")
+    List<AppointmentDTO> filterByDoctorNameAndPatientId(String doctorName, Long patientId,
+                                                        LocalDateTime afterTime, Long afterId, Pageable page);
 
-    // 7. Filter appointments by doctor name, patient ID, and status
-    @Query("SELECT a FROM Appointment a " +
-           "JOIN a.doctor d " +
+    // 7. Filter appointments by doctor name, patient ID, and status, one keyset page after (afterTime, afterId)
+    @Query("SELECT " + DTO_PROJECTION + " FROM Appointment a " +
+           "JOIN a.doctor d JOIN a.patient p " +
            "WHERE LOWER(d.name) LIKE LOWER(CONCAT('%', :doctorName, '%')) " +
-           "AND a.patient.id = :patientId AND a.status = :status")
-    List<Appointment> filterByDoctorNameAndPatientIdAndStatus(String doctorName, Long patientId, int status);
+           "AND p.id = :patientId AND a.status = :status " +
+           "AND (:afterTime IS NULL OR a.appointmentTime > :afterTime " +
+           "OR (a.appointmentTime = :afterTime AND a.id > :afterId)) " +
+           "ORDER BY a.appointmentTime ASC, a.id ASC")
+    List<AppointmentDTO> filterByDoctorNameAndPatientIdAndStatus(String doctorName, Long patientId, int status,
+                                                                 LocalDateTime afterTime, Long afterId, Pageable page);
+
+    // 8. Appointments of a patient projected straight into AppointmentDTO (single join, no entity hydration)
+    @Query("SELECT " + DTO_PROJECTION + " FROM Appointment a " +
+           "JOIN a.doctor d JOIN a.patient p " +
+           "WHERE p.id = :patientId " +
+           "ORDER BY a.appointmentTime ASC, a.id ASC")
+    List<AppointmentDTO> findDtosByPatientId(Long patientId);
 
-    // 8. Update appointment status by ID
+    // 9. Appointments of a patient with a given status, projected into AppointmentDTO
+    @Query("SELECT " + DTO_PROJECTION + " FROM Appointment a " +
+           "JOIN a.doctor d JOIN a.patient p " +
+           "WHERE p.id = :patientId AND a.status = :status " +
+           "ORDER BY a.appointmentTime ASC, a.id ASC")
+    List<AppointmentDTO> findDtosByPatientIdAndStatus(Long patientId, int status);
+
+    // 10. Update appointment status by ID
     @Modifying
     @Transactional
     @Query("UPDATE Appointment a SET a.status = :status WHERE a.id = :id")
     void updateStatus(int status, long id);
+
+    // 11. Update the status of many appointments in one statement
+    @Modifying
+    @Transactional
+    @Query("UPDATE Appointment a SET a.status = :status WHERE a.id IN :ids")
+    int updateStatusBulk(int status, Collection<Long> ids);
+
+    // 12. Stream appointments of a time window for exports; rows are fetched one at a time from MySQL
+    //     (fetch size Integer.MIN_VALUE) and projected to DTOs, so nothing accumulates in the persistence context
+    @Workload(WorkloadClass.REPORTING)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT " + DTO_PROJECTION + " FROM Appointment a " +
+           "JOIN a.doctor d JOIN a.patient p " +
+           "WHERE a.appointmentTime >= :from AND a.appointmentTime < :to " +
+           "ORDER BY a.appointmentTime ASC, a.id ASC")
+    Stream<AppointmentDTO> streamDtosByAppointmentTime(LocalDateTime from, LocalDateTime to);
+
+    // 13. One doctor's appointments in a time window, projected into AppointmentDTO (agenda read model)
+    @Query("SELECT " + DTO_PROJECTION + " FROM Appointment a " +
+           "JOIN a.doctor d JOIN a.patient p " +
+           "WHERE d.id = :doctorId AND a.appointmentTime >= :from AND a.appointmentTime < :to " +
+           "ORDER BY a.appointmentTime ASC, a.id ASC")
+    List<AppointmentDTO> findDtosByDoctorIdAndAppointmentTime(Long doctorId, LocalDateTime from, LocalDateTime to);
+
+    // 14. Every doctor's appointments in a time window, projected into AppointmentDTO (agenda warm-up)
+    @Workload(WorkloadClass.REPORTING)
+    @Query("SELECT " + DTO_PROJECTION + " FROM Appointment a " +
+           "JOIN a.doctor d JOIN a.patient p " +
+           "WHERE a.appointmentTime >= :from AND a.appointmentTime < :to " +
+           "ORDER BY a.appointmentTime ASC, a.id ASC")
+    List<AppointmentDTO> findDtosByAppointmentTime(LocalDateTime from, LocalDateTime to);
+
+    // 15. Appointments by ID, projected into AppointmentDTO
+    @Query("SELECT " + DTO_PROJECTION + " FROM Appointment a " +
+           "JOIN a.doctor d JOIN a.patient p " +
+           "WHERE a.id IN :ids")
+    List<AppointmentDTO> findDtosByIdIn(Collection<Long> ids);
+
+    // 16. Next chunk of scheduled appointments that started before the cutoff, after the (afterTime, afterId)
+    //     watermark; returns [id, appointmentTime] pairs in (appointmentTime, id) order
+    @Query("SELECT a.id, a.appointmentTime FROM Appointment a " +
+           "WHERE a.status = 0 AND a.appointmentTime < :cutoff " +
+           "AND (a.appointmentTime > :afterTime OR (a.appointmentTime = :afterTime AND a.id > :afterId)) " +
+           "ORDER BY a.appointmentTime ASC, a.id ASC")
+    List<Object[]> findScheduledBefore(LocalDateTime cutoff, LocalDateTime afterTime, Long afterId, Pageable page);
+
+    // 17. Oldest completed appointments before the cutoff, as [id, appointmentTime] pairs (archival chunks)
+    @Query("SELECT a.id, a.appointmentTime FROM Appointment a " +
+           "WHERE a.status = 1 AND a.appointmentTime < :cutoff " +
+           "ORDER BY a.appointmentTime ASC, a.id ASC")
+    List<Object[]> findCompletedBefore(LocalDateTime cutoff, Pageable page);
+
+    // 18. Delete archived appointments from the hot table (completed rows only)
+    @Modifying
+    @Query("DELETE FROM Appointment a WHERE a.status = 1 AND a.id IN :ids")
+    int deleteCompletedByIdIn(Collection<Long> ids);
 }
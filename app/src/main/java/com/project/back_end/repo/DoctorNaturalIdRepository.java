@@ -0,0 +1,9 @@
+package com.project.back_end.repo;
+
+import com.project.back_end.models.Doctor;
+
+public interface DoctorNaturalIdRepository {
+
+    // Find a doctor by their email (natural id); null if there is none
+    Doctor findByEmail(String email);
+}
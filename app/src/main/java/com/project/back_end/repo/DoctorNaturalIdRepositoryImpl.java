@@ -0,0 +1,26 @@
+package com.project.back_end.repo;
+
+import com.project.back_end.models.Doctor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Resolves doctors by email through Hibernate's natural-id API, which consults the
+ * "doctor.naturalId" and "doctor" cache regions before issuing any SQL.
+ */
+public class DoctorNaturalIdRepositoryImpl implements DoctorNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Doctor findByEmail(String email) {
+        if (email == null) return null;
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Doctor.class)
+                .load(email);
+    }
+}
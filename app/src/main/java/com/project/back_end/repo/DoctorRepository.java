@@ -2,26 +2,14 @@ package com.project.back_end.repo;
 
 import com.project.back_end.model.Doctor;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
-
 @Repository
-public interface DoctorRepository extends JpaRepository<Doctor, Long> {
-
-    // 1. Find a doctor by their email
-    Doctor findByEmail(String email);
-
-    // 2. Find doctors by partial name match using LIKE (case-sensitive)
-    @Query("SELECT d FROM Doctor d WHERE d.name LIKE CONCAT('%', :name, '%')")
-    List<Doctor> findByNameLike(String name);
+public interface DoctorRepository extends JpaRepository<Doctor, Long>, JpaSpecificationExecutor<Doctor>,
+        DoctorNaturalIdRepository {
 
-    // 3. Filter doctors by name (partial match) and specialty (case-insensitive)
-    @Query("SELECT d FROM Doctor d WHERE LOWER(d.name) LIKE LOWER(CONCAT('%', :name, '%')) " +
-           "AND LOWER(d.specialty) = LOWER(:specialty)")
-    List<Doctor> findByNameContainingIgnoreCaseAndSpecialtyIgnoreCase(String name, String specialty);
+    // findByEmail is provided by DoctorNaturalIdRepository (natural-id lookup through the second-level cache)
 
-    // 4. Find doctors by specialty ignoring case
-    List<Doctor> findBySpecialtyIgnoreCase(String specialty);
+    // Name/specialty/time filtering goes through JpaSpecificationExecutor with DoctorSpecifications
 }
@@ -0,0 +1,55 @@
+package com.project.back_end.repo;
+
+import com.project.back_end.DTO.DoctorFilter;
+import com.project.back_end.models.Doctor;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Compiles a DoctorFilter into a single Criteria query over Doctor.
+ * Values are bound as parameters, so every filter of the same shape produces the same SQL
+ * and reuses Hibernate's cached criteria plan (hibernate.criteria.plan_cache_enabled).
+ */
+public final class DoctorSpecifications {
+
+    // Slot strings are zero-padded "HH:mm-HH:mm", so they order lexically by start time
+    private static final String NOON = "12:00";
+
+    private DoctorSpecifications() {
+    }
+
+    public static Specification<Doctor> matching(DoctorFilter filter) {
+        return (root, query, cb) -> {
+            Predicate predicate = cb.conjunction();
+
+            if (filter.getName() != null) {
+                predicate = cb.and(predicate,
+                        cb.like(cb.lower(root.get("name")), "%" + escape(filter.getName()) + "%", '\\'));
+            }
+            if (filter.getSpecialty() != null) {
+                // Plain equality keeps the specialty index usable; MySQL's default collation is case-insensitive
+                predicate = cb.and(predicate, cb.equal(root.get("specialty"), filter.getSpecialty()));
+            }
+            if (filter.getTime() != null) {
+                predicate = cb.and(predicate, cb.exists(slotSubquery(root, query, cb, filter.getTime())));
+            }
+            return predicate;
+        };
+    }
+
+    // EXISTS (a slot of this doctor in the requested half of the day)
+    private static Subquery<Integer> slotSubquery(Root<Doctor> root, CriteriaQuery<?> query,
+                                                  CriteriaBuilder cb, String amOrPm) {
+        Subquery<Integer> subquery = query.subquery(Integer.class);
+        Root<Doctor> doctor = subquery.correlate(root);
+        Join<Doctor, String> slot = doctor.join("availableTimes");
+        Predicate half = "am".equals(amOrPm)
+                ? cb.lessThan(slot, NOON)
+                : cb.greaterThanOrEqualTo(slot, NOON);
+        return subquery.select(cb.literal(1)).where(half);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
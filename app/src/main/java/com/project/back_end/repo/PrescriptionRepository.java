@@ -2,8 +2,10 @@ package com.project.back_end.repo;
 
 import com.project.back_end.model.Prescription;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -11,4 +13,11 @@ public interface PrescriptionRepository extends MongoRepository<Prescription, St
 
     // Find prescriptions by the associated appointment ID
     List<Prescription> findByAppointmentId(Long appointmentId);
+
+    // Find prescriptions of many appointments in one query
+    List<Prescription> findByAppointmentIdIn(Collection<Long> appointmentIds);
+
+    // Same as above without the doctorNotes field, for views that do not show them
+    @Query(value = "{ 'appointmentId': { $in: ?0 } }", fields = "{ 'doctorNotes': 0 }")
+    List<Prescription> findSummariesByAppointmentIdIn(Collection<Long> appointmentIds);
 }
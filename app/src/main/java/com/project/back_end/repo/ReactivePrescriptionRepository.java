@@ -0,0 +1,27 @@
+package com.project.back_end.repo;
+
+import com.project.back_end.models.Prescription;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.util.Collection;
+
+/**
+ * Non-blocking counterpart of PrescriptionRepository on the reactive Mongo driver.
+ * Both repositories map the same "prescriptions" collection.
+ */
+@Repository
+public interface ReactivePrescriptionRepository extends ReactiveMongoRepository<Prescription, String> {
+
+    // Find prescriptions by the associated appointment ID
+    Flux<Prescription> findByAppointmentId(Long appointmentId);
+
+    // Find prescriptions of many appointments, emitted as the cursor is drained
+    Flux<Prescription> findByAppointmentIdIn(Collection<Long> appointmentIds);
+
+    // Same as above without the doctorNotes field
+    @Query(value = "{ 'appointmentId': { $in: ?0 } }", fields = "{ 'doctorNotes': 0 }")
+    Flux<Prescription> findSummariesByAppointmentIdIn(Collection<Long> appointmentIds);
+}
@@ -0,0 +1,113 @@
+package com.project.back_end.services;
+
+import com.project.back_end.config.Workload;
+import com.project.back_end.config.WorkloadClass;
+import com.project.back_end.repo.AppointmentArchiveRepository;
+import com.project.back_end.repo.AppointmentRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves completed appointments older than the retention window from the hot appointment table
+ * into the partitioned appointment_archive, oldest first. Each chunk copies and deletes the same
+ * ids in one transaction, so an interrupted run simply continues with the rows still left in the
+ * hot table. Runs outside clinic hours only, with a pause between chunks.
+ */
+@Workload(WorkloadClass.REPORTING)
+@Component
+public class AppointmentArchivalJob {
+
+    private static final Logger log = LoggerFactory.getLogger(AppointmentArchivalJob.class);
+
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentArchiveRepository archiveRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int retentionDays;
+    private final int chunkSize;
+    private final long throttleMillis;
+    private final int maxChunksPerRun;
+    private final ClinicHours clinicHours;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Autowired
+    public AppointmentArchivalJob(AppointmentRepository appointmentRepository,
+                                  AppointmentArchiveRepository archiveRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${appointments.archive.retention-days:90}") int retentionDays,
+                                  @Value("${appointments.archive.chunk-size:500}") int chunkSize,
+                                  @Value("${appointments.archive.throttle-ms:200}") long throttleMillis,
+                                  @Value("${appointments.archive.max-chunks-per-run:2000}") int maxChunksPerRun,
+                                  @Value("${appointments.archive.clinic-hours:08:00-18:00}") String clinicHours) {
+        this.appointmentRepository = appointmentRepository;
+        this.archiveRepository = archiveRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionDays = retentionDays;
+        this.chunkSize = chunkSize;
+        this.throttleMillis = throttleMillis;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.clinicHours = ClinicHours.parse(clinicHours);
+    }
+
+    // 1. Scheduled entry point
+    @Scheduled(cron = "${appointments.archive.cron:0 30 2 * * *}")
+    public void run() {
+        if (!running.compareAndSet(false, true)) return;
+        int archived = 0;
+        try {
+            LocalDateTime cutoff = archiveHorizon(retentionDays);
+            for (int chunk = 0; chunk < maxChunksPerRun && !clinicHours.contains(LocalTime.now()); chunk++) {
+                int count = archiveChunk(cutoff);
+                archived += count;
+                if (count < chunkSize) break; // caught up
+                Thread.sleep(throttleMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Appointment archival stopped after {} rows", archived, e);
+        } finally {
+            running.set(false);
+        }
+        if (archived > 0) log.info("Archived {} completed appointments", archived);
+    }
+
+    // 2. One chunk: pick the oldest ids, add partitions for their months, then copy and delete atomically
+    int archiveChunk(LocalDateTime cutoff) {
+        List<Object[]> rows = appointmentRepository.findCompletedBefore(cutoff, PageRequest.of(0, chunkSize));
+        if (rows.isEmpty()) return 0;
+
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (Object[] row : rows) ids.add((Long) row[0]);
+        archiveRepository.ensurePartitions(YearMonth.from((LocalDateTime) rows.get(0)[1]),
+                YearMonth.from((LocalDateTime) rows.get(rows.size() - 1)[1]));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            archiveRepository.copyFromHot(ids);
+            appointmentRepository.deleteCompletedByIdIn(ids);
+        });
+        return ids.size();
+    }
+
+    // Start of the oldest day still kept in the hot table; older completed rows may be archived
+    static LocalDateTime archiveHorizon(int retentionDays) {
+        return LocalDate.now().minusDays(retentionDays).atStartOfDay();
+    }
+}
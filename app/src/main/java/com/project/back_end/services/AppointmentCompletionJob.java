@@ -0,0 +1,117 @@
+package com.project.back_end.services;
+
+import com.project.back_end.config.Workload;
+import com.project.back_end.config.WorkloadClass;
+import com.project.back_end.models.JobWatermark;
+import com.project.back_end.repo.AppointmentRepository;
+import com.project.back_end.repo.JobWatermarkRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Marks elapsed appointments as completed (status 0 -> 1) in the background.
+ * Work is done in small keyset chunks along idx_appointment_time; each chunk updates at most
+ * chunk-size rows by primary key and advances a persisted watermark in the same transaction.
+ * The job pauses between chunks and does not run during clinic hours.
+ */
+@Workload(WorkloadClass.REPORTING)
+@Component
+public class AppointmentCompletionJob {
+
+    static final String JOB_NAME = "appointment-auto-complete";
+
+    private static final Logger log = LoggerFactory.getLogger(AppointmentCompletionJob.class);
+    private static final LocalDateTime START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final AppointmentRepository appointmentRepository;
+    private final JobWatermarkRepository watermarkRepository;
+    private final AppointmentService appointmentService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int chunkSize;
+    private final long throttleMillis;
+    private final int maxChunksPerRun;
+    private final long graceMinutes;
+    private final ClinicHours clinicHours;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Autowired
+    public AppointmentCompletionJob(AppointmentRepository appointmentRepository,
+                                    JobWatermarkRepository watermarkRepository,
+                                    AppointmentService appointmentService,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${appointments.auto-complete.chunk-size:500}") int chunkSize,
+                                    @Value("${appointments.auto-complete.throttle-ms:200}") long throttleMillis,
+                                    @Value("${appointments.auto-complete.max-chunks-per-run:1000}") int maxChunksPerRun,
+                                    @Value("${appointments.auto-complete.grace-minutes:60}") long graceMinutes,
+                                    @Value("${appointments.auto-complete.clinic-hours:08:00-18:00}") String clinicHours) {
+        this.appointmentRepository = appointmentRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.appointmentService = appointmentService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.throttleMillis = throttleMillis;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.graceMinutes = graceMinutes;
+        this.clinicHours = ClinicHours.parse(clinicHours);
+    }
+
+    // 1. Scheduled entry point; runs chunks until caught up, the per-run cap is hit, or clinic hours start
+    @Scheduled(cron = "${appointments.auto-complete.cron:0 */30 * * * *}")
+    public void run() {
+        if (!running.compareAndSet(false, true)) return;
+        int completed = 0;
+        try {
+            for (int chunk = 0; chunk < maxChunksPerRun && !clinicHours.contains(LocalTime.now()); chunk++) {
+                Integer count = transactionTemplate.execute(status -> completeChunk());
+                if (count == null || count == 0) break;
+                completed += count;
+                if (count < chunkSize) break; // caught up
+                Thread.sleep(throttleMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            // The failed chunk rolled back with its watermark; the next run retries it
+            log.error("Appointment auto-completion stopped after {} rows", completed, e);
+        } finally {
+            running.set(false);
+        }
+        if (completed > 0) log.info("Auto-completed {} elapsed appointments", completed);
+    }
+
+    // 2. One chunk: select the next ids after the watermark, complete them, move the watermark
+    int completeChunk() {
+        JobWatermark watermark = watermarkRepository.findById(JOB_NAME)
+                .orElseGet(() -> new JobWatermark(JOB_NAME, START, 0L));
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(graceMinutes);
+
+        List<Object[]> rows = appointmentRepository.findScheduledBefore(
+                cutoff, watermark.getLastTime(), watermark.getLastId(), PageRequest.of(0, chunkSize));
+        if (rows.isEmpty()) return 0;
+
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (Object[] row : rows) ids.add((Long) row[0]);
+        appointmentService.updateAppointmentStatuses(ids, 1);
+
+        Object[] last = rows.get(rows.size() - 1);
+        watermark.advance((LocalDateTime) last[1], (Long) last[0]);
+        watermarkRepository.save(watermark);
+        return ids.size();
+    }
+}
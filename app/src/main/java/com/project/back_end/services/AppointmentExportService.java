@@ -0,0 +1,101 @@
+package com.project.back_end.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.project.back_end.DTO.AppointmentDTO;
+import com.project.back_end.config.Workload;
+import com.project.back_end.config.WorkloadClass;
+import com.project.back_end.repo.AppointmentRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes appointment extracts for admin reporting straight from a database cursor to the
+ * response stream, as NDJSON (one AppointmentDTO per line) or CSV. Memory use does not
+ * depend on the number of rows exported.
+ */
+@Workload(WorkloadClass.REPORTING)
+@Service
+public class AppointmentExportService {
+
+    public static final String FORMAT_NDJSON = "ndjson";
+    public static final String FORMAT_CSV = "csv";
+
+    private static final String CSV_HEADER = "id,doctorId,doctorName,patientId,patientName,patientEmail," +
+            "patientPhone,patientAddress,appointmentTime,status";
+    private static final int FLUSH_EVERY = 1000;
+
+    private final AppointmentRepository appointmentRepository;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public AppointmentExportService(AppointmentRepository appointmentRepository, ObjectMapper objectMapper) {
+        this.appointmentRepository = appointmentRepository;
+        this.objectMapper = objectMapper.copy().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    // Exports appointments with from <= date < to; the transaction keeps the cursor open while writing
+    @Transactional(readOnly = true)
+    public void export(LocalDate from, LocalDate to, String format, OutputStream out) throws IOException {
+        try (Stream<AppointmentDTO> rows = appointmentRepository.streamDtosByAppointmentTime(
+                from.atStartOfDay(), to.atStartOfDay())) {
+            if (FORMAT_CSV.equalsIgnoreCase(format)) {
+                writeCsv(rows.iterator(), out);
+            } else {
+                writeNdjson(rows.iterator(), out);
+            }
+        }
+    }
+
+    // Rows are buffered by the generator and flushed every FLUSH_EVERY rows, not after each value
+    private void writeNdjson(Iterator<AppointmentDTO> rows, OutputStream out) throws IOException {
+        int count = 0;
+        try (SequenceWriter writer = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n")
+                .writeValues(out)) {
+            while (rows.hasNext()) {
+                writer.write(rows.next());
+                if (++count % FLUSH_EVERY == 0) writer.flush();
+            }
+        }
+        // Closing the writer flushed the generator (the target stays open), so the final newline lands last
+        if (count > 0) out.write('\n');
+    }
+
+    private void writeCsv(Iterator<AppointmentDTO> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        int count = 0;
+        while (rows.hasNext()) {
+            AppointmentDTO row = rows.next();
+            writer.write(row.getId() + "," + row.getDoctorId() + "," + csv(row.getDoctorName()) + ","
+                    + row.getPatientId() + "," + csv(row.getPatientName()) + "," + csv(row.getPatientEmail()) + ","
+                    + csv(row.getPatientPhone()) + "," + csv(row.getPatientAddress()) + ","
+                    + row.getAppointmentTime() + "," + row.getStatus());
+            writer.write('\n');
+            if (++count % FLUSH_EVERY == 0) writer.flush();
+        }
+        writer.flush();
+    }
+
+    // RFC 4180 quoting for free-text columns
+    private static String csv(String value) {
+        if (value == null) return "";
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
@@ -0,0 +1,187 @@
+package com.project.back_end.services;
+
+import com.project.back_end.DTO.AppointmentDTO;
+import com.project.back_end.DTO.AppointmentReminder;
+import com.project.back_end.repo.AppointmentRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * Sends patient reminders a fixed time before each appointment (24h and 1h by default).
+ * Pending reminders live in a hashed timing wheel that only ever holds appointments inside a
+ * sliding window (now .. now + window-hours); the window is extended periodically from the
+ * database and kept current by AppointmentService on book/update/cancel. Due reminders are
+ * re-read in batches, so a cancelled or moved appointment is never reminded about.
+ */
+@Component
+public class AppointmentReminderScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(AppointmentReminderScheduler.class);
+
+    private final AppointmentRepository appointmentRepository;
+    private final ReminderNotifier notifier;
+
+    private final long[] leadMinutes;
+    private final Duration window;
+    private final int batchSize;
+
+    // Guarded by this
+    private final HashedTimingWheel<ReminderTask> wheel;
+    private final Map<Long, List<HashedTimingWheel.Timeout<ReminderTask>>> byAppointment = new HashMap<>();
+    private LocalDateTime loadedUntil;
+
+    @Autowired
+    public AppointmentReminderScheduler(AppointmentRepository appointmentRepository,
+                                        ReminderNotifier notifier,
+                                        @Value("${reminders.lead-minutes:1440,60}") long[] leadMinutes,
+                                        @Value("${reminders.window-hours:26}") long windowHours,
+                                        @Value("${reminders.tick-ms:60000}") long tickMillis,
+                                        @Value("${reminders.wheel-size:2048}") int wheelSize,
+                                        @Value("${reminders.batch-size:100}") int batchSize) {
+        this.appointmentRepository = appointmentRepository;
+        this.notifier = notifier;
+        this.leadMinutes = leadMinutes;
+        this.window = Duration.ofHours(windowHours);
+        this.batchSize = batchSize;
+        this.wheel = new HashedTimingWheel<>(tickMillis, wheelSize, System.currentTimeMillis());
+        this.loadedUntil = LocalDateTime.now();
+    }
+
+    // 1. Register the reminders of a booked or moved appointment once the transaction commits.
+    //    Appointments beyond the loaded window are left to the next window extension.
+    public void schedule(Long appointmentId, LocalDateTime appointmentTime) {
+        TransactionHooks.afterCommit(() -> {
+            synchronized (this) {
+                remove(appointmentId);
+                if (appointmentTime.isBefore(loadedUntil)) add(appointmentId, appointmentTime);
+            }
+        });
+    }
+
+    // 2. Drop the pending reminders of a cancelled or moved appointment once the transaction commits
+    public void cancel(Long appointmentId) {
+        TransactionHooks.afterCommit(() -> {
+            synchronized (this) {
+                remove(appointmentId);
+            }
+        });
+    }
+
+    // 3. Slide the window forward: load appointments between the old and the new window end.
+    //    The end moves before the query runs, so bookings committed meanwhile are added by schedule();
+    //    rows seen by both simply replace each other.
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${reminders.refresh-ms:600000}", initialDelayString = "${reminders.refresh-ms:600000}")
+    public void extendWindow() {
+        LocalDateTime from;
+        LocalDateTime to = LocalDateTime.now().plus(window);
+        synchronized (this) {
+            from = loadedUntil;
+            if (!from.isBefore(to)) return;
+            loadedUntil = to;
+        }
+
+        List<AppointmentDTO> upcoming;
+        try {
+            upcoming = appointmentRepository.findDtosByAppointmentTime(from, to);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                if (loadedUntil.equals(to)) loadedUntil = from; // retry this slice next time
+            }
+            throw e;
+        }
+        synchronized (this) {
+            for (AppointmentDTO appointment : upcoming) {
+                if (appointment.getStatus() == 0) add(appointment.getId(), appointment.getAppointmentTime());
+            }
+        }
+    }
+
+    // 4. Fire every reminder whose time has come, in batches
+    @Scheduled(fixedDelayString = "${reminders.tick-ms:60000}")
+    public void dispatchDue() {
+        List<ReminderTask> due;
+        synchronized (this) {
+            due = wheel.advance(System.currentTimeMillis());
+            for (ReminderTask task : due) forget(task);
+        }
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<ReminderTask> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+            try {
+                List<AppointmentReminder> reminders = resolve(batch);
+                if (!reminders.isEmpty()) notifier.send(reminders);
+            } catch (RuntimeException e) {
+                log.error("Failed to send {} appointment reminders", batch.size(), e);
+            }
+        }
+    }
+
+    // Number of reminders waiting in the wheel
+    public synchronized int getPendingCount() {
+        return wheel.pending();
+    }
+
+    private void add(Long appointmentId, LocalDateTime appointmentTime) {
+        remove(appointmentId);
+        long now = System.currentTimeMillis();
+        long startMillis = appointmentTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+        List<HashedTimingWheel.Timeout<ReminderTask>> timeouts = new ArrayList<>(leadMinutes.length);
+        for (long lead : leadMinutes) {
+            long deadline = startMillis - Duration.ofMinutes(lead).toMillis();
+            // Booked too late for this reminder (e.g. 2 hours ahead for the 24h one)
+            if (deadline <= now) continue;
+            timeouts.add(wheel.add(new ReminderTask(appointmentId, appointmentTime, lead), deadline));
+        }
+        if (!timeouts.isEmpty()) byAppointment.put(appointmentId, timeouts);
+    }
+
+    private void remove(Long appointmentId) {
+        List<HashedTimingWheel.Timeout<ReminderTask>> timeouts = byAppointment.remove(appointmentId);
+        if (timeouts != null) timeouts.forEach(wheel::cancel);
+    }
+
+    private void forget(ReminderTask task) {
+        List<HashedTimingWheel.Timeout<ReminderTask>> timeouts = byAppointment.get(task.appointmentId());
+        if (timeouts == null) return;
+        timeouts.removeIf(timeout -> timeout.task() == task);
+        if (timeouts.isEmpty()) byAppointment.remove(task.appointmentId());
+    }
+
+    // Current patient/doctor details for a batch; skips appointments that are gone, completed or moved
+    private List<AppointmentReminder> resolve(List<ReminderTask> batch) {
+        Set<Long> ids = new HashSet<>();
+        for (ReminderTask task : batch) ids.add(task.appointmentId());
+
+        Map<Long, AppointmentDTO> current = new HashMap<>();
+        for (AppointmentDTO appointment : appointmentRepository.findDtosByIdIn(ids)) {
+            current.put(appointment.getId(), appointment);
+        }
+
+        List<AppointmentReminder> reminders = new ArrayList<>(batch.size());
+        for (ReminderTask task : batch) {
+            AppointmentDTO appointment = current.get(task.appointmentId());
+            if (appointment == null || appointment.getStatus() != 0
+                    || !appointment.getAppointmentTime().equals(task.appointmentTime())) continue;
+            reminders.add(new AppointmentReminder(appointment.getId(), appointment.getPatientId(),
+                    appointment.getPatientName(), appointment.getPatientEmail(), appointment.getPatientPhone(),
+                    appointment.getDoctorName(), appointment.getAppointmentTime(), task.leadMinutes()));
+        }
+        return reminders;
+    }
+
+    private record ReminderTask(Long appointmentId, LocalDateTime appointmentTime, long leadMinutes) {
+    }
+}
@@ -1,5 +1,8 @@
 package com.project.back_end.services;
 
+import com.project.back_end.config.ReadYourWritesTracker;
+import com.project.back_end.config.Workload;
+import com.project.back_end.config.WorkloadClass;
 import com.project.back_end.model.Appointment;
 import com.project.back_end.model.Doctor;
 import com.project.back_end.model.Patient;
@@ -7,46 +10,177 @@ import com.project.back_end.repo.AppointmentRepository;
 import com.project.back_end.repo.DoctorRepository;
 import com.project.back_end.repo.PatientRepository;
 import com.project.back_end.utils.TokenService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.util.*;
 
 @Service
 public class AppointmentService {
 
+    // Upper bound on ids per IN (...) list in bulk status updates
+    private static final int STATUS_UPDATE_CHUNK = 1000;
+
     private final AppointmentRepository appointmentRepository;
     private final PatientRepository patientRepository;
     private final DoctorRepository doctorRepository;
     private final TokenService tokenService;
     private final ServiceHelper serviceHelper;
+    private final SlotAvailabilityIndex slotAvailabilityIndex;
+    private final DoctorAgenda doctorAgenda;
+    private final AppointmentReminderScheduler reminderScheduler;
+    private final ReadYourWritesTracker readYourWrites;
+    private final Validator validator;
+    private final MeterRegistry meterRegistry;
 
     @Autowired
     public AppointmentService(AppointmentRepository appointmentRepository,
                               PatientRepository patientRepository,
                               DoctorRepository doctorRepository,
                               TokenService tokenService,
-                              ServiceHelper serviceHelper) {
+                              ServiceHelper serviceHelper,
+                              SlotAvailabilityIndex slotAvailabilityIndex,
+                              DoctorAgenda doctorAgenda,
+                              AppointmentReminderScheduler reminderScheduler,
+                              ReadYourWritesTracker readYourWrites,
+                              Validator validator,
+                              MeterRegistry meterRegistry) {
         this.appointmentRepository = appointmentRepository;
         this.patientRepository = patientRepository;
         this.doctorRepository = doctorRepository;
         this.tokenService = tokenService;
         this.serviceHelper = serviceHelper;
+        this.slotAvailabilityIndex = slotAvailabilityIndex;
+        this.doctorAgenda = doctorAgenda;
+        this.reminderScheduler = reminderScheduler;
+        this.readYourWrites = readYourWrites;
+        this.validator = validator;
+        this.meterRegistry = meterRegistry;
     }
 
-    @Transactional
+    // Returns 1 when booked, 0 when the slot is already taken, -1 on any other error.
+    // Not @Transactional on purpose: the insert commits on its own, so a unique-key conflict
+    // surfaces here as a clean "slot taken" instead of a rollback-only outer transaction.
     public int bookAppointment(Appointment appointment) {
+        int result = book(appointment);
+        countBooking("single", switch (result) {
+            case 1 -> "booked";
+            case 0 -> "slot_taken";
+            default -> "error";
+        }, 1);
+        return result;
+    }
+
+    private int book(Appointment appointment) {
+        Long doctorId = appointment.getDoctor().getId();
+        LocalDateTime time = appointment.getAppointmentTime();
+
+        // An unknown doctor has no slots to claim; report it as an error rather than "slot taken"
+        if (!slotAvailabilityIndex.hasDoctor(doctorId)) {
+            return -1;
+        }
+        // Fast in-JVM claim; a concurrent booking of the same slot fails here without touching the database
+        if (!slotAvailabilityIndex.tryReserve(doctorId, time)) {
+            return 0;
+        }
         try {
-            appointmentRepository.save(appointment);
-            return 1;
+            appointmentRepository.saveAndFlush(appointment);
+        } catch (DataIntegrityViolationException e) {
+            slotAvailabilityIndex.release(doctorId, time);
+            // Another node won the (doctor_id, appointment_time) unique key; any other violation is a real failure
+            return isSlotConflict(e) ? 0 : -1;
         } catch (Exception e) {
-            return 0;
+            slotAvailabilityIndex.release(doctorId, time);
+            return -1;
+        }
+
+        // The row is committed from here on, so the slot stays claimed whatever happens below
+        doctorAgenda.upsert(List.of(appointment));
+        reminderScheduler.schedule(appointment.getId(), time);
+        readYourWrites.markWrite();
+        return 1;
+    }
+
+    // Books a whole import in one pass: every row is checked and claimed against the slot index,
+    // then all accepted rows are inserted in a single transaction with JDBC batching.
+    // Rejected rows are reported by their position in the request; if the insert fails the
+    // whole transaction rolls back and every claim made here is released.
+    @Transactional
+    public Map<String, Object> bookAppointments(List<Appointment> appointments) {
+        List<Appointment> accepted = new ArrayList<>(appointments.size());
+        List<Map<String, Object>> rejected = new ArrayList<>();
+
+        // One lookup for every patient of the import; a missing one would fail the FK and roll back the whole batch
+        Set<Long> patientIds = new HashSet<>();
+        for (Appointment appointment : appointments) {
+            if (appointment.getPatient() != null && appointment.getPatient().getId() != null) {
+                patientIds.add(appointment.getPatient().getId());
+            }
+        }
+        Set<Long> knownPatients = new HashSet<>();
+        for (Patient patient : patientRepository.findAllById(patientIds)) {
+            knownPatients.add(patient.getId());
+        }
+
+        for (int i = 0; i < appointments.size(); i++) {
+            Appointment appointment = appointments.get(i);
+            // Same bean constraints as a single booking (doctor, patient, future appointment time)
+            Set<ConstraintViolation<Appointment>> violations = validator.validate(appointment);
+            if (!violations.isEmpty()) {
+                rejected.add(Map.of("index", i, "reason", violations.iterator().next().getMessage()));
+                countBooking("batch", "invalid", 1);
+            } else if (!knownPatients.contains(appointment.getPatient().getId())) {
+                rejected.add(Map.of("index", i, "reason", "Patient not found."));
+                countBooking("batch", "unknown_patient", 1);
+            } else if (!slotAvailabilityIndex.hasDoctor(appointment.getDoctor().getId())) {
+                rejected.add(Map.of("index", i, "reason", "Doctor not found."));
+                countBooking("batch", "unknown_doctor", 1);
+            } else if (!slotAvailabilityIndex.tryReserve(appointment.getDoctor().getId(), appointment.getAppointmentTime())) {
+                // Also catches two rows of the same batch asking for the same slot
+                rejected.add(Map.of("index", i, "reason", "Slot already taken."));
+                countBooking("batch", "slot_taken", 1);
+            } else {
+                accepted.add(appointment);
+            }
+        }
+
+        // Registered before the insert so that a failing batch is counted as well
+        TransactionHooks.afterCommit(() -> countBooking("batch", "booked", accepted.size()));
+        TransactionHooks.afterRollback(() -> countBooking("batch", "error", accepted.size()));
+
+        appointmentRepository.saveAllAndFlush(accepted);
+        doctorAgenda.upsert(accepted);
+        for (Appointment appointment : accepted) {
+            reminderScheduler.schedule(appointment.getId(), appointment.getAppointmentTime());
         }
+        TransactionHooks.afterCommit(readYourWrites::markWrite);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("booked", accepted.size());
+        result.put("rejected", rejected);
+        return result;
+    }
+
+    // Sets the status of many appointments with one UPDATE per chunk of ids (e.g. end-of-day completion)
+    @Transactional
+    public int updateAppointmentStatuses(List<Long> ids, int status) {
+        int updated = 0;
+        for (int from = 0; from < ids.size(); from += STATUS_UPDATE_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(from + STATUS_UPDATE_CHUNK, ids.size()));
+            updated += appointmentRepository.updateStatusBulk(status, chunk);
+        }
+        doctorAgenda.updateStatus(ids, status);
+        return updated;
     }
 
     @Transactional
@@ -72,9 +206,36 @@ public class AppointmentService {
             return ResponseEntity.badRequest().body(response);
         }
 
+        Long doctorId = existing.getDoctor().getId();
+        LocalDateTime previousTime = existing.getAppointmentTime();
+        boolean moved = !previousTime.equals(appointment.getAppointmentTime());
+
+        // Claim the new slot first; the claim is released automatically if this transaction rolls back
+        if (moved && !slotAvailabilityIndex.tryReserve(doctorId, appointment.getAppointmentTime())) {
+            response.put("error", "Slot already taken.");
+            return ResponseEntity.status(409).body(response);
+        }
+
         existing.setAppointmentTime(appointment.getAppointmentTime());
         existing.setStatus(appointment.getStatus());
-        appointmentRepository.save(existing);
+        try {
+            // Flushed here so that another node holding the slot fails this call, not the commit
+            appointmentRepository.saveAndFlush(existing);
+        } catch (DataIntegrityViolationException e) {
+            if (!isSlotConflict(e)) throw e;
+            // Roll back quietly; the rollback hook of tryReserve releases the claim
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            response.put("error", "Slot already taken.");
+            return ResponseEntity.status(409).body(response);
+        }
+
+        if (moved) {
+            slotAvailabilityIndex.markFreed(doctorId, previousTime);
+            doctorAgenda.remove(doctorId, previousTime, existing.getId());
+            reminderScheduler.schedule(existing.getId(), existing.getAppointmentTime());
+        }
+        doctorAgenda.upsert(List.of(existing));
+        TransactionHooks.afterCommit(readYourWrites::markWrite);
 
         response.put("message", "Appointment updated successfully.");
         return ResponseEntity.ok(response);
@@ -98,28 +259,38 @@ public class AppointmentService {
         }
 
         appointmentRepository.delete(appointment);
+        slotAvailabilityIndex.markFreed(appointment.getDoctor().getId(), appointment.getAppointmentTime());
+        doctorAgenda.remove(appointment.getDoctor().getId(), appointment.getAppointmentTime(), appointment.getId());
+        reminderScheduler.cancel(appointment.getId());
+        TransactionHooks.afterCommit(readYourWrites::markWrite);
         response.put("message", "Appointment cancelled.");
         return ResponseEntity.ok(response);
     }
 
-    @Transactional(readOnly = true)
+    // Served from the doctor's in-memory agenda; the database is only hit on a cold (doctor, date) entry
+    @Workload(WorkloadClass.DASHBOARD)
     public Map<String, Object> getAppointment(String pname, LocalDate date, String token) {
         Map<String, Object> result = new HashMap<>();
         Long doctorId = tokenService.getIdFromToken(token);
 
-        LocalDateTime start = date.atStartOfDay();
-        LocalDateTime end = date.atTime(LocalTime.MAX);
+        result.put("appointments", doctorAgenda.search(doctorId, date, pname));
+        return result;
+    }
+
+    // appointments.bookings{mode, outcome}: single bookings (booked / slot_taken / error) and batch rows
+    // (booked / slot_taken / unknown_doctor / invalid, or error when the batch insert rolls back)
+    private void countBooking(String mode, String outcome, int rows) {
+        if (rows > 0) meterRegistry.counter("appointments.bookings", "mode", mode, "outcome", outcome).increment(rows);
+    }
 
-        List<Appointment> appointments;
-        if (pname == null || pname.isBlank()) {
-            appointments = appointmentRepository.findByDoctorIdAndAppointmentTimeBetween(doctorId, start, end);
-        } else {
-            appointments = appointmentRepository
-                .findByDoctorIdAndPatient_NameContainingIgnoreCaseAndAppointmentTimeBetween(
-                    doctorId, pname, start, end);
+    // Whether an integrity violation is the doctor/time slot key rather than e.g. a duplicate id
+    private static boolean isSlotConflict(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase(Locale.ROOT).contains(Appointment.SLOT_CONSTRAINT);
+            }
         }
-
-        result.put("appointments", appointments);
-        return result;
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.contains(Appointment.SLOT_CONSTRAINT);
     }
 }
@@ -0,0 +1,68 @@
+package com.project.back_end.services;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hit/miss/put/eviction counters of the Doctor second-level cache regions.
+ * Hits, misses and puts come from Hibernate's statistics; evictions come from the
+ * JCache statistics MBean that Caffeine registers for each region.
+ */
+@Service
+public class CacheStatisticsService {
+
+    public static final List<String> DOCTOR_REGIONS = List.of("doctor", "doctor.availableTimes", "doctor.naturalId");
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    public CacheStatisticsService(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public Map<String, Object> getDoctorCacheStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String region : DOCTOR_REGIONS) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics == null) continue;
+
+            Map<String, Object> counters = new LinkedHashMap<>();
+            counters.put("hits", regionStatistics.getHitCount());
+            counters.put("misses", regionStatistics.getMissCount());
+            counters.put("puts", regionStatistics.getPutCount());
+            counters.put("evictions", evictions(region));
+            counters.put("size", regionStatistics.getElementCountInMemory());
+            regions.put(region, counters);
+        }
+        return regions;
+    }
+
+    // -1 when the region has no JCache statistics MBean (statistics disabled or region not created yet)
+    private long evictions(String region) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            for (ObjectName name : server.queryNames(new ObjectName("javax.cache:type=CacheStatistics,*"), null)) {
+                String cache = name.getKeyProperty("Cache");
+                if (cache != null && cache.startsWith("\"")) cache = ObjectName.unquote(cache);
+                if (region.equals(cache)) {
+                    return ((Number) server.getAttribute(name, "CacheEvictions")).longValue();
+                }
+            }
+        } catch (Exception e) {
+            // fall through
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,30 @@
+package com.project.back_end.services;
+
+import java.time.LocalTime;
+
+/**
+ * Daily window ("08:00-18:00") during which background jobs must not touch the hot appointment
+ * table. A window whose end is before its start wraps past midnight.
+ */
+final class ClinicHours {
+
+    private final LocalTime opens;
+    private final LocalTime closes;
+
+    private ClinicHours(LocalTime opens, LocalTime closes) {
+        this.opens = opens;
+        this.closes = closes;
+    }
+
+    static ClinicHours parse(String window) {
+        String[] bounds = window.split("-");
+        return new ClinicHours(LocalTime.parse(bounds[0].trim()), LocalTime.parse(bounds[1].trim()));
+    }
+
+    boolean contains(LocalTime time) {
+        if (opens.isBefore(closes)) {
+            return !time.isBefore(opens) && time.isBefore(closes);
+        }
+        return !time.isBefore(opens) || time.isBefore(closes);
+    }
+}
@@ -0,0 +1,218 @@
+package com.project.back_end.services;
+
+import com.project.back_end.DTO.AppointmentDTO;
+import com.project.back_end.models.Appointment;
+import com.project.back_end.repo.AppointmentRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read model behind the doctor dashboard: for each (doctorId, date) the day's appointments,
+ * already joined with doctor and patient and sorted by time. Writes in AppointmentService patch
+ * the cached days after commit instead of invalidating them, today and tomorrow are loaded
+ * ahead of the working day, and patient-name search runs over the cached rows.
+ * Only days from today to agenda.cache-horizon-days ahead are cached. Loads run outside the map;
+ * a load that overlapped a committed write to its day is repeated, so the write is never lost.
+ */
+@Component
+public class DoctorAgenda {
+
+    private static final Comparator<AppointmentDTO> BY_TIME =
+            Comparator.comparing(AppointmentDTO::getAppointmentTime).thenComparing(AppointmentDTO::getId);
+
+    private final AppointmentRepository appointmentRepository;
+
+    // (doctorId, date) -> immutable list of rows ordered by (appointmentTime, id); replaced on every change
+    private final Map<DayKey, List<AppointmentDTO>> days = new ConcurrentHashMap<>();
+
+    // Committed-write sequence, and the last write per day while any load is in flight
+    private final AtomicLong writeSeq = new AtomicLong();
+    private final AtomicInteger loadsInFlight = new AtomicInteger();
+    private final Map<DayKey, Long> lastWrite = new ConcurrentHashMap<>();
+    // Bulk status changes are not tied to known days, so they count as a write to every day
+    private final AtomicLong lastStatusWrite = new AtomicLong();
+
+    @Value("${agenda.cache-horizon-days:14}")
+    private int cacheHorizonDays;
+
+    @Autowired
+    public DoctorAgenda(AppointmentRepository appointmentRepository) {
+        this.appointmentRepository = appointmentRepository;
+    }
+
+    // 1. A doctor's appointments on a date, loading the day on first use (days outside the horizon are not kept)
+    public List<AppointmentDTO> getAgenda(Long doctorId, LocalDate date) {
+        DayKey key = new DayKey(doctorId, date);
+        List<AppointmentDTO> cached = days.get(key);
+        if (cached != null) return cached;
+        if (!withinHorizon(date)) return loadDay(key);
+
+        loadsInFlight.incrementAndGet();
+        try {
+            long before = writeSeq.get();
+            List<AppointmentDTO> loaded = loadDay(key);
+            List<AppointmentDTO> current = days.putIfAbsent(key, loaded);
+            if (current != null) return current;
+            return reloadIfWrittenSince(key, before, loaded);
+        } finally {
+            loadsInFlight.decrementAndGet();
+        }
+    }
+
+    // 2. Case-insensitive patient-name search within a doctor's day; a blank name returns the whole day
+    public List<AppointmentDTO> search(Long doctorId, LocalDate date, String patientName) {
+        List<AppointmentDTO> agenda = getAgenda(doctorId, date);
+        if (patientName == null || patientName.isBlank()) return agenda;
+
+        String needle = patientName.trim().toLowerCase(Locale.ROOT);
+        List<AppointmentDTO> matches = new ArrayList<>();
+        for (AppointmentDTO row : agenda) {
+            if (row.getPatientName() != null && row.getPatientName().toLowerCase(Locale.ROOT).contains(needle)) {
+                matches.add(row);
+            }
+        }
+        return matches;
+    }
+
+    // 3. Add or refresh saved appointments once the transaction commits. Rows are re-read as DTOs
+    //    (one query for the whole list) and only for days that are cached; other days load lazily.
+    public void upsert(Collection<Appointment> appointments) {
+        TransactionHooks.afterCommit(() -> {
+            List<Long> cachedIds = new ArrayList<>();
+            for (Appointment appointment : appointments) {
+                DayKey key = keyOf(appointment.getDoctor().getId(), appointment.getAppointmentTime());
+                recordWrite(key);
+                if (days.containsKey(key)) cachedIds.add(appointment.getId());
+            }
+            if (cachedIds.isEmpty()) return;
+
+            for (AppointmentDTO row : appointmentRepository.findDtosByIdIn(cachedIds)) {
+                days.computeIfPresent(keyOf(row.getDoctorId(), row.getAppointmentTime()),
+                        (key, rows) -> replace(rows, row.getId(), row));
+            }
+        });
+    }
+
+    // 4. Drop an appointment from its day once the transaction commits (cancelled, or moved to another slot)
+    public void remove(Long doctorId, LocalDateTime time, Long appointmentId) {
+        TransactionHooks.afterCommit(() -> {
+            DayKey key = keyOf(doctorId, time);
+            recordWrite(key);
+            days.computeIfPresent(key, (k, rows) -> replace(rows, appointmentId, null));
+        });
+    }
+
+    // 5. Apply a bulk status change to every cached row it touches, once the transaction commits.
+    public void updateStatus(Collection<Long> appointmentIds, int status) {
+        Set<Long> ids = new HashSet<>(appointmentIds);
+        TransactionHooks.afterCommit(() -> {
+            long seq = writeSeq.incrementAndGet();
+            if (loadsInFlight.get() > 0) lastStatusWrite.accumulateAndGet(seq, Math::max);
+            days.replaceAll((key, rows) -> {
+                List<AppointmentDTO> updated = null;
+                for (int i = 0; i < rows.size(); i++) {
+                    AppointmentDTO row = rows.get(i);
+                    if (!ids.contains(row.getId()) || row.getStatus() == status) continue;
+                    if (updated == null) updated = new ArrayList<>(rows);
+                    updated.set(i, withStatus(row, status));
+                }
+                return updated == null ? rows : List.copyOf(updated);
+            });
+        });
+    }
+
+    // 6. Reload today and tomorrow for every doctor in one query, replacing what is cached, and forget
+    //    days that fell out of the horizon
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${agenda.warm-cron:0 0 5 * * *}")
+    public void warm() {
+        LocalDate today = LocalDate.now();
+        days.keySet().removeIf(key -> !withinHorizon(key.date()));
+        lastWrite.keySet().removeIf(key -> !withinHorizon(key.date()));
+
+        loadsInFlight.incrementAndGet();
+        try {
+            long before = writeSeq.get();
+            Map<DayKey, List<AppointmentDTO>> loaded = new HashMap<>();
+            for (AppointmentDTO row : appointmentRepository.findDtosByAppointmentTime(
+                    today.atStartOfDay(), today.plusDays(2).atStartOfDay())) {
+                loaded.computeIfAbsent(keyOf(row.getDoctorId(), row.getAppointmentTime()), key -> new ArrayList<>()).add(row);
+            }
+            // Days of the window that are cached but now empty are cleared as well
+            for (DayKey key : days.keySet()) {
+                if (!key.date().isAfter(today.plusDays(1))) loaded.putIfAbsent(key, List.of());
+            }
+            loaded.forEach((key, rows) -> {
+                days.put(key, List.copyOf(rows));
+                reloadIfWrittenSince(key, before, rows);
+            });
+        } finally {
+            loadsInFlight.decrementAndGet();
+        }
+    }
+
+    // A committed write may have missed the day while it was being loaded: either the write saw the
+    // day cached (and patched it), or it was recorded after `before` and the day is read again
+    private List<AppointmentDTO> reloadIfWrittenSince(DayKey key, long before, List<AppointmentDTO> loaded) {
+        List<AppointmentDTO> current = loaded;
+        while (lastWrite.getOrDefault(key, 0L) > before || lastStatusWrite.get() > before) {
+            before = writeSeq.get();
+            current = loadDay(key);
+            days.put(key, current);
+        }
+        return current;
+    }
+
+    private void recordWrite(DayKey key) {
+        long seq = writeSeq.incrementAndGet();
+        if (loadsInFlight.get() > 0 && withinHorizon(key.date())) lastWrite.merge(key, seq, Math::max);
+    }
+
+    private boolean withinHorizon(LocalDate date) {
+        LocalDate today = LocalDate.now();
+        return !date.isBefore(today) && !date.isAfter(today.plusDays(cacheHorizonDays));
+    }
+
+    private List<AppointmentDTO> loadDay(DayKey key) {
+        return List.copyOf(appointmentRepository.findDtosByDoctorIdAndAppointmentTime(
+                key.doctorId(), key.date().atStartOfDay(), key.date().plusDays(1).atStartOfDay()));
+    }
+
+    // Copy of rows without appointmentId, plus replacement (if not null) at its sorted position
+    private static List<AppointmentDTO> replace(List<AppointmentDTO> rows, Long appointmentId, AppointmentDTO replacement) {
+        List<AppointmentDTO> updated = new ArrayList<>(rows.size() + 1);
+        for (AppointmentDTO row : rows) {
+            if (!row.getId().equals(appointmentId)) updated.add(row);
+        }
+        if (replacement != null) {
+            int position = Collections.binarySearch(updated, replacement, BY_TIME);
+            updated.add(position < 0 ? -position - 1 : position, replacement);
+        }
+        return List.copyOf(updated);
+    }
+
+    private static AppointmentDTO withStatus(AppointmentDTO row, int status) {
+        return new AppointmentDTO(row.getId(), row.getDoctorId(), row.getDoctorName(), row.getPatientId(),
+                row.getPatientName(), row.getPatientEmail(), row.getPatientPhone(), row.getPatientAddress(),
+                row.getAppointmentTime(), status);
+    }
+
+    private static DayKey keyOf(Long doctorId, LocalDateTime time) {
+        return new DayKey(doctorId, time.toLocalDate());
+    }
+
+    private record DayKey(Long doctorId, LocalDate date) {
+    }
+}
@@ -0,0 +1,31 @@
+package com.project.back_end.services;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonically increasing version of the doctor roster, used as the ETag of the doctor
+ * listing endpoints. It starts at the boot time in milliseconds, so tags handed out before a
+ * restart are never reused, and it is bumped after every committed doctor insert, update or delete.
+ */
+@Component
+public class DoctorRosterVersion {
+
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    // 1. Current version; callers read it before loading the roster, so a racing change only makes the tag stale
+    public long current() {
+        return version.get();
+    }
+
+    // 2. Advance the version once the surrounding transaction commits
+    public void bump() {
+        TransactionHooks.afterCommit(version::incrementAndGet);
+    }
+
+    // 3. Strong entity tag for the current version
+    public String etag() {
+        return "\"roster-" + current() + "\"";
+    }
+}
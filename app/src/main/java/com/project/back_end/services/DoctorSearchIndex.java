@@ -0,0 +1,160 @@
+package com.project.back_end.services;
+
+import com.project.back_end.DTO.DoctorFilter;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.repo.DoctorRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process search index over the doctor roster for the /doctor/filter endpoint.
+ * Names are indexed by lower-cased n-grams (length 1 to 3) so that substring queries only
+ * verify a short candidate list, specialties map to a posting list of doctor ids, and the
+ * AM/PM check uses the counts precomputed on each doctor's availability template.
+ */
+@Component
+public class DoctorSearchIndex {
+
+    private static final int MAX_GRAM = 3;
+
+    private final DoctorRepository doctorRepository;
+
+    private final Map<Long, Doctor> doctors = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> namePostings = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> specialtyPostings = new ConcurrentHashMap<>();
+
+    // Guards loading and re-indexing; a ReentrantLock (not a monitor) so that waiting across the
+    // initial findAll parks virtual threads instead of pinning their carriers
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile boolean loaded;
+
+    @Autowired
+    public DoctorSearchIndex(DoctorRepository doctorRepository) {
+        this.doctorRepository = doctorRepository;
+    }
+
+    // 1. Doctors matching every criterion of the filter, ordered by id
+    public List<Doctor> search(DoctorFilter filter) {
+        ensureLoaded();
+
+        Collection<Long> candidates = doctors.keySet();
+        if (filter.getSpecialty() != null) {
+            candidates = specialtyPostings.getOrDefault(filter.getSpecialty(), Set.of());
+        }
+        if (filter.getName() != null) {
+            Set<Long> byName = nameCandidates(filter.getName());
+            if (byName.size() < candidates.size()) candidates = byName;
+        }
+
+        List<Doctor> result = new ArrayList<>();
+        for (Long id : candidates) {
+            Doctor doctor = doctors.get(id);
+            if (doctor != null && filter.matches(doctor)) result.add(doctor);
+        }
+        result.sort(Comparator.comparing(Doctor::getId));
+        return result;
+    }
+
+    // 2. Add or re-index a doctor once the saving transaction commits
+    public void put(Doctor doctor) {
+        TransactionHooks.afterCommit(() -> {
+            lock.lock();
+            try {
+                // Not loaded yet: the first search reads the committed roster anyway
+                if (!loaded) return;
+                unindex(doctor.getId());
+                index(doctor);
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+
+    // 3. Remove a doctor once the deleting transaction commits
+    public void remove(Long doctorId) {
+        TransactionHooks.afterCommit(() -> {
+            lock.lock();
+            try {
+                if (!loaded) return;
+                unindex(doctorId);
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+
+    // Held across the load so a roster change committing meanwhile is applied after it, not lost
+    private void ensureLoaded() {
+        if (loaded) return;
+        lock.lock();
+        try {
+            if (loaded) return;
+            for (Doctor doctor : doctorRepository.findAll()) {
+                index(doctor);
+            }
+            loaded = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void index(Doctor doctor) {
+        // Parse availableTimes while the loading session is still open
+        doctor.getAvailabilityTemplate();
+        doctors.put(doctor.getId(), doctor);
+        for (String gram : grams(lower(doctor.getName()))) {
+            namePostings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(doctor.getId());
+        }
+        specialtyPostings.computeIfAbsent(lower(doctor.getSpecialty()), key -> ConcurrentHashMap.newKeySet())
+                .add(doctor.getId());
+    }
+
+    private void unindex(Long doctorId) {
+        Doctor previous = doctors.remove(doctorId);
+        if (previous == null) return;
+        for (String gram : grams(lower(previous.getName()))) {
+            removePosting(namePostings, gram, doctorId);
+        }
+        removePosting(specialtyPostings, lower(previous.getSpecialty()), doctorId);
+    }
+
+    // Short queries are a gram themselves; longer ones start from their rarest trigram and are verified later
+    private Set<Long> nameCandidates(String nameKey) {
+        if (nameKey.length() <= MAX_GRAM) {
+            return namePostings.getOrDefault(nameKey, Set.of());
+        }
+        Set<Long> smallest = null;
+        for (int i = 0; i + MAX_GRAM <= nameKey.length(); i++) {
+            Set<Long> posting = namePostings.getOrDefault(nameKey.substring(i, i + MAX_GRAM), Set.of());
+            if (smallest == null || posting.size() < smallest.size()) smallest = posting;
+            if (smallest.isEmpty()) break;
+        }
+        return smallest;
+    }
+
+    private static Set<String> grams(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int length = 1; length <= MAX_GRAM; length++) {
+            for (int i = 0; i + length <= value.length(); i++) {
+                grams.add(value.substring(i, i + length));
+            }
+        }
+        return grams;
+    }
+
+    private static void removePosting(Map<String, Set<Long>> postings, String key, Long doctorId) {
+        postings.computeIfPresent(key, (k, ids) -> {
+            ids.remove(doctorId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private static String lower(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+}
@@ -2,21 +2,23 @@ package com.project.back_end.services;
 
 import com.project.back_end.model.Doctor;
 import com.project.back_end.model.Appointment;
+import com.project.back_end.DTO.DoctorFilter;
 import com.project.back_end.DTO.Login;
 import com.project.back_end.repo.DoctorRepository;
 import com.project.back_end.repo.AppointmentRepository;
+import com.project.back_end.repo.DoctorSpecifications;
 import com.project.back_end.token.TokenService;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.time.LocalTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 public class DoctorService {
@@ -24,35 +26,29 @@ public class DoctorService {
     private final DoctorRepository doctorRepository;
     private final AppointmentRepository appointmentRepository;
     private final TokenService tokenService;
+    private final SlotAvailabilityIndex slotAvailabilityIndex;
+    private final DoctorSearchIndex doctorSearchIndex;
+    private final DoctorRosterVersion rosterVersion;
+
+    @Value("${doctor.filter.source:index}")
+    private String filterSource;
 
     @Autowired
-    public DoctorService(DoctorRepository doctorRepository, AppointmentRepository appointmentRepository, TokenService tokenService) {
+    public DoctorService(DoctorRepository doctorRepository, AppointmentRepository appointmentRepository,
+                         TokenService tokenService, SlotAvailabilityIndex slotAvailabilityIndex,
+                         DoctorSearchIndex doctorSearchIndex, DoctorRosterVersion rosterVersion) {
         this.doctorRepository = doctorRepository;
         this.appointmentRepository = appointmentRepository;
         this.tokenService = tokenService;
+        this.slotAvailabilityIndex = slotAvailabilityIndex;
+        this.doctorSearchIndex = doctorSearchIndex;
+        this.rosterVersion = rosterVersion;
     }
 
-    @Transactional
+    // Served from the in-memory slot index; the database is only hit on a cold (doctor, date) entry
+    @Transactional(readOnly = true)
     public List<String> getDoctorAvailability(Long doctorId, LocalDate date) {
-        Optional<Doctor> doctorOpt = doctorRepository.findById(doctorId);
-        if (doctorOpt.isEmpty()) return Collections.emptyList();
-
-        Doctor doctor = doctorOpt.get();
-        List<LocalTime> bookedTimes = appointmentRepository
-                .findByDoctorIdAndAppointmentTimeBetween(
-                        doctorId,
-                        date.atStartOfDay(),
-                        date.plusDays(1).atStartOfDay()
-                )
-                .stream()
-                .map(a -> a.getAppointmentTime().toLocalTime())
-                .collect(Collectors.toList());
-
-        return doctor.getAvailableTimes()
-                .stream()
-                .filter(time -> !bookedTimes.contains(time))
-                .map(LocalTime::toString)
-                .collect(Collectors.toList());
+        return slotAvailabilityIndex.getAvailableSlots(doctorId, date);
     }
 
     public int saveDoctor(Doctor doctor) {
@@ -61,6 +57,8 @@ public class DoctorService {
         }
         try {
             doctorRepository.save(doctor);
+            doctorSearchIndex.put(doctor);
+            rosterVersion.bump();
             return 1;
         } catch (Exception e) {
             return 0;
@@ -71,13 +69,21 @@ public class DoctorService {
         if (!doctorRepository.existsById(doctor.getId())) return -1;
         try {
             doctorRepository.save(doctor);
+            slotAvailabilityIndex.evictDoctor(doctor.getId());
+            doctorSearchIndex.put(doctor);
+            rosterVersion.bump();
             return 1;
         } catch (Exception e) {
             return 0;
         }
     }
 
-    @Transactional
+    // ETag of the doctor listings (getDoctors and filterDoctors); changes on every roster mutation
+    public String getRosterEtag() {
+        return rosterVersion.etag();
+    }
+
+    @Transactional(readOnly = true)
     public List<Doctor> getDoctors() {
         return doctorRepository.findAll();
     }
@@ -89,6 +95,9 @@ public class DoctorService {
         try {
             appointmentRepository.deleteAllByDoctorId(id);
             doctorRepository.deleteById(id);
+            slotAvailabilityIndex.evictDoctor(id);
+            doctorSearchIndex.remove(id);
+            rosterVersion.bump();
             return 1;
         } catch (Exception e) {
             return 0;
@@ -108,70 +117,17 @@ public class DoctorService {
         return ResponseEntity.ok(response);
     }
 
-    @Transactional
-    public Map<String, Object> findDoctorByName(String name) {
-        List<Doctor> doctors = doctorRepository.findByNameLike("%" + name + "%");
-        Map<String, Object> response = new HashMap<>();
-        response.put("doctors", doctors);
-        return response;
-    }
-
-    @Transactional
-    public Map<String, Object> filterDoctorsByNameSpecilityandTime(String name, String specialty, String amOrPm) {
-        List<Doctor> doctors = doctorRepository.findByNameContainingIgnoreCaseAndSpecialtyIgnoreCase(name, specialty);
-        Map<String, Object> response = new HashMap<>();
-        response.put("doctors", filterDoctorByTime(doctors, amOrPm));
-        return response;
-    }
-
-    @Transactional
-    public Map<String, Object> filterDoctorByNameAndTime(String name, String amOrPm) {
-        List<Doctor> doctors = doctorRepository.findByNameLike("%" + name + "%");
-        Map<String, Object> response = new HashMap<>();
-        response.put("doctors", filterDoctorByTime(doctors, amOrPm));
-        return response;
-    }
-
-    @Transactional
-    public Map<String, Object> filterDoctorByNameAndSpecility(String name, String specialty) {
-        List<Doctor> doctors = doctorRepository.findByNameContainingIgnoreCaseAndSpecialtyIgnoreCase(name, specialty);
-        Map<String, Object> response = new HashMap<>();
-        response.put("doctors", doctors);
-        return response;
-    }
+    // Single entry point for every name/specialty/time combination. Served from the in-memory
+    // DoctorSearchIndex by default; with doctor.filter.source=database the filter is compiled into one
+    // Criteria query instead. The transaction only matters for the index's first, roster-loading call.
+    @Transactional(readOnly = true)
+    public Map<String, Object> filterDoctors(DoctorFilter filter) {
+        List<Doctor> doctors = "database".equalsIgnoreCase(filterSource)
+                ? doctorRepository.findAll(DoctorSpecifications.matching(filter), Sort.by("id"))
+                : doctorSearchIndex.search(filter);
 
-    @Transactional
-    public Map<String, Object> filterDoctorByTimeAndSpecility(String specialty, String amOrPm) {
-        List<Doctor> doctors = doctorRepository.findBySpecialtyIgnoreCase(specialty);
-        Map<String, Object> response = new HashMap<>();
-        response.put("doctors", filterDoctorByTime(doctors, amOrPm));
-        return response;
-    }
-
-    @Transactional
-    public Map<String, Object> filterDoctorBySpecility(String specialty) {
-        List<Doctor> doctors = doctorRepository.findBySpecialtyIgnoreCase(specialty);
         Map<String, Object> response = new HashMap<>();
         response.put("doctors", doctors);
         return response;
     }
-
-    @Transactional
-    public Map<String, Object> filterDoctorsByTime(String amOrPm) {
-        List<Doctor> doctors = doctorRepository.findAll();
-        Map<String, Object> response = new HashMap<>();
-        response.put("doctors", filterDoctorByTime(doctors, amOrPm));
-        return response;
-    }
-
-    private List<Doctor> filterDoctorByTime(List<Doctor> doctors, String amOrPm) {
-        return doctors.stream().filter(doctor -> doctor.getAvailableTimes().stream().anyMatch(time -> {
-            if ("am".equalsIgnoreCase(amOrPm)) {
-                return time.isBefore(LocalTime.NOON);
-            } else if ("pm".equalsIgnoreCase(amOrPm)) {
-                return time.equals(LocalTime.NOON) || time.isAfter(LocalTime.NOON);
-            }
-            return true;
-        })).collect(Collectors.toList());
-    }
 }
@@ -0,0 +1,44 @@
+package com.project.back_end.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.back_end.DTO.AppointmentReminder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// Appends reminders as NDJSON lines to reminders.file (a local sink for testing delivery end to end)
+@Component
+@ConditionalOnProperty(name = "reminders.notifier", havingValue = "file")
+public class FileReminderNotifier implements ReminderNotifier {
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+
+    public FileReminderNotifier(@Value("${reminders.file:reminders.ndjson}") String file, ObjectMapper objectMapper) {
+        this.file = Path.of(file);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void send(List<AppointmentReminder> reminders) {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (AppointmentReminder reminder : reminders) {
+                writer.write(objectMapper.writeValueAsString(reminder));
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write reminders to " + file, e);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.project.back_end.services;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Hashed timing wheel: a ring of buckets, one per tick, where a task lands in the bucket of its
+ * deadline tick and carries the number of full turns still to wait. Adding, cancelling and
+ * expiring a task are O(1); memory is proportional to the number of pending tasks.
+ * Not thread-safe; callers synchronize.
+ */
+final class HashedTimingWheel<T> {
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final List<List<Timeout<T>>> buckets;
+    private final int mask;
+
+    // Next tick to expire; bucket (tick & mask) holds deadlines in ((tick - 1) * tickMillis, tick * tickMillis]
+    private long currentTick;
+    private int pending;
+
+    HashedTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (Integer.bitCount(wheelSize) != 1) throw new IllegalArgumentException("wheelSize must be a power of two");
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.mask = wheelSize - 1;
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) buckets.add(new ArrayList<>());
+    }
+
+    // 1. Schedule a task; a deadline that has already passed expires on the next advance
+    Timeout<T> add(T task, long deadlineMillis) {
+        long ticks = Math.max(Math.ceilDiv(deadlineMillis - startMillis, tickMillis), currentTick);
+        Timeout<T> timeout = new Timeout<>(task, (ticks - currentTick) / buckets.size());
+        buckets.get((int) (ticks & mask)).add(timeout);
+        pending++;
+        return timeout;
+    }
+
+    // 2. Cancel a task; it is dropped from its bucket when that bucket is next visited
+    void cancel(Timeout<T> timeout) {
+        if (!timeout.cancelled) {
+            timeout.cancelled = true;
+            pending--;
+        }
+    }
+
+    // 3. Expire every tick that has ended by nowMillis and return the due tasks
+    List<T> advance(long nowMillis) {
+        List<T> due = new ArrayList<>();
+        while (startMillis + currentTick * tickMillis <= nowMillis) {
+            Iterator<Timeout<T>> bucket = buckets.get((int) (currentTick & mask)).iterator();
+            while (bucket.hasNext()) {
+                Timeout<T> timeout = bucket.next();
+                if (timeout.cancelled) {
+                    bucket.remove();
+                } else if (timeout.remainingRounds == 0) {
+                    bucket.remove();
+                    timeout.cancelled = true;
+                    pending--;
+                    due.add(timeout.task);
+                } else {
+                    timeout.remainingRounds--;
+                }
+            }
+            currentTick++;
+        }
+        return due;
+    }
+
+    int pending() {
+        return pending;
+    }
+
+    static final class Timeout<T> {
+        private final T task;
+        private long remainingRounds;
+        private boolean cancelled;
+
+        private Timeout(T task, long remainingRounds) {
+            this.task = task;
+            this.remainingRounds = remainingRounds;
+        }
+
+        T task() {
+            return task;
+        }
+    }
+}
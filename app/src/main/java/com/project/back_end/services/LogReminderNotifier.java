@@ -0,0 +1,27 @@
+package com.project.back_end.services;
+
+import com.project.back_end.DTO.AppointmentReminder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Writes reminders to the application log (default notifier, for development and tests)
+@Component
+@ConditionalOnProperty(name = "reminders.notifier", havingValue = "log", matchIfMissing = true)
+public class LogReminderNotifier implements ReminderNotifier {
+
+    private static final Logger log = LoggerFactory.getLogger(LogReminderNotifier.class);
+
+    @Override
+    public void send(List<AppointmentReminder> reminders) {
+        for (AppointmentReminder reminder : reminders) {
+            log.info("Reminder ({} min ahead) to {} <{}>: appointment {} with {} at {}",
+                    reminder.leadMinutes(), reminder.patientName(), reminder.patientEmail(),
+                    reminder.appointmentId(), reminder.doctorName(), reminder.appointmentTime());
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.project.back_end.services;
+
+import com.project.back_end.DTO.AppointmentDTO;
+import com.project.back_end.config.Workload;
+import com.project.back_end.config.WorkloadClass;
+import com.project.back_end.models.Patient;
+import com.project.back_end.models.Prescription;
+import com.project.back_end.repo.AppointmentRepository;
+import com.project.back_end.repo.PatientRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Builds the whole patient dashboard in one call: the patient is resolved once, then the
+ * appointment listing (MySQL) and the prescriptions of those appointments (one batched Mongo
+ * query) are read in turn, since the second needs the ids from the first. Each source has its
+ * own timeout, enforced by the database (JDBC query timeout, Mongo maxTimeMS) so a slow query is
+ * actually cancelled; a source that times out or fails is listed under "incomplete" instead of
+ * failing the whole response.
+ */
+@Workload(WorkloadClass.DASHBOARD)
+@Service
+public class PatientDashboardService {
+
+    private final TokenService tokenService;
+    private final PatientRepository patientRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final MongoTemplate mongoTemplate;
+    private final TransactionTemplate appointmentsRead;
+    private final long sourceTimeoutMs;
+
+    @Autowired
+    public PatientDashboardService(TokenService tokenService,
+                                   PatientRepository patientRepository,
+                                   AppointmentRepository appointmentRepository,
+                                   MongoTemplate mongoTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${dashboard.source-timeout-ms:2000}") long sourceTimeoutMs) {
+        this.tokenService = tokenService;
+        this.patientRepository = patientRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.appointmentsRead = new TransactionTemplate(transactionManager);
+        this.appointmentsRead.setReadOnly(true);
+        // The transaction timeout becomes the JDBC query timeout of the listing (whole seconds)
+        this.appointmentsRead.setTimeout((int) Math.max(1, Math.ceilDiv(sourceTimeoutMs, 1000)));
+        this.sourceTimeoutMs = sourceTimeoutMs;
+    }
+
+    public ResponseEntity<Map<String, Object>> getDashboard(String token) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            Patient patient = patientRepository.findByEmail(tokenService.extractIdentifier(token));
+            if (patient == null) {
+                response.put("error", "Patient not found.");
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+            }
+
+            List<String> incomplete = new ArrayList<>();
+
+            List<AppointmentDTO> appointments = fetch("appointments",
+                    () -> appointmentsRead.execute(status -> appointmentRepository.findDtosByPatientId(patient.getId())),
+                    List.of(), incomplete);
+
+            // One batched Mongo query for the prescriptions of every appointment, cut off server-side by maxTimeMS
+            List<Long> appointmentIds = appointments.stream().map(AppointmentDTO::getId).toList();
+            List<Prescription> found = appointmentIds.isEmpty() ? List.of() : fetch("prescriptions",
+                    () -> mongoTemplate.find(new Query(Criteria.where("appointmentId").in(appointmentIds))
+                            .maxTime(Duration.ofMillis(sourceTimeoutMs)), Prescription.class),
+                    List.<Prescription>of(), incomplete);
+
+            Map<Long, List<Prescription>> prescriptions = new LinkedHashMap<>();
+            for (Prescription prescription : found) {
+                prescriptions.computeIfAbsent(prescription.getAppointmentId(), id -> new ArrayList<>()).add(prescription);
+            }
+
+            response.put("patient", patient);
+            response.put("appointments", appointments);
+            response.put("prescriptions", prescriptions);
+            response.put("incomplete", incomplete);
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            response.put("error", "Internal server error.");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    // Runs one source; on timeout or error it yields the fallback and is marked incomplete
+    private static <T> T fetch(String source, Supplier<T> query, T fallback, List<String> incomplete) {
+        try {
+            return query.get();
+        } catch (Exception e) {
+            incomplete.add(source);
+            return fallback;
+        }
+    }
+}
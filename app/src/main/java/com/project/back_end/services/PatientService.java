@@ -1,20 +1,28 @@
 package com.project.back_end.services;
 
+import com.project.back_end.DTO.AppointmentCursor;
 import com.project.back_end.DTO.AppointmentDTO;
-import com.project.back_end.model.Appointment;
+import com.project.back_end.config.Workload;
+import com.project.back_end.config.WorkloadClass;
 import com.project.back_end.model.Patient;
+import com.project.back_end.repo.AppointmentArchiveRepository;
 import com.project.back_end.repo.AppointmentRepository;
 import com.project.back_end.repo.PatientRepository;
 import com.project.back_end.token.TokenService;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 @Service
 public class PatientService {
@@ -22,14 +30,20 @@ public class PatientService {
     private final PatientRepository patientRepository;
     private final AppointmentRepository appointmentRepository;
     private final TokenService tokenService;
+    private final AppointmentArchiveRepository archiveRepository;
+
+    @Value("${appointments.archive.retention-days:90}")
+    private int retentionDays;
 
     @Autowired
     public PatientService(PatientRepository patientRepository,
                           AppointmentRepository appointmentRepository,
-                          TokenService tokenService) {
+                          TokenService tokenService,
+                          AppointmentArchiveRepository archiveRepository) {
         this.patientRepository = patientRepository;
         this.appointmentRepository = appointmentRepository;
         this.tokenService = tokenService;
+        this.archiveRepository = archiveRepository;
     }
 
     public int createPatient(Patient patient) {
@@ -42,8 +56,9 @@ public class PatientService {
         }
     }
 
-    @Transactional
-    public ResponseEntity<Map<String, Object>> getPatientAppointment(Long id, String token) {
+    @Workload(WorkloadClass.DASHBOARD)
+    @Transactional(readOnly = true)
+    public ResponseEntity<Map<String, Object>> getPatientAppointment(Long id, String token, LocalDate since) {
         Map<String, Object> response = new HashMap<>();
         try {
             String email = tokenService.extractEmail(token);
@@ -53,10 +68,10 @@ public class PatientService {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
             }
 
-            List<Appointment> appointments = appointmentRepository.findByPatientId(id);
-            List<AppointmentDTO> dtos = appointments.stream()
-                .map(AppointmentDTO::new)
-                .collect(Collectors.toList());
+            List<AppointmentDTO> dtos = appointmentRepository.findDtosByPatientId(id);
+            if (since != null) {
+                dtos = withHistory(dtos, since, from -> archiveRepository.findByPatientId(id, from));
+            }
 
             response.put("appointments", dtos);
             return ResponseEntity.ok(response);
@@ -67,8 +82,9 @@ public class PatientService {
         }
     }
 
-    @Transactional
-    public ResponseEntity<Map<String, Object>> filterByCondition(String condition, Long id) {
+    @Workload(WorkloadClass.DASHBOARD)
+    @Transactional(readOnly = true)
+    public ResponseEntity<Map<String, Object>> filterByCondition(String condition, Long id, LocalDate since) {
         Map<String, Object> response = new HashMap<>();
         try {
             int status;
@@ -81,10 +97,10 @@ public class PatientService {
                 return ResponseEntity.badRequest().body(response);
             }
 
-            List<Appointment> appointments = appointmentRepository.findByPatient_IdAndStatusOrderByAppointmentTimeAsc(id, status);
-            List<AppointmentDTO> dtos = appointments.stream()
-                .map(AppointmentDTO::new)
-                .collect(Collectors.toList());
+            List<AppointmentDTO> dtos = appointmentRepository.findDtosByPatientIdAndStatus(id, status);
+            if (since != null) {
+                dtos = withHistory(dtos, since, from -> archiveRepository.findByPatientIdAndStatus(id, status, from));
+            }
 
             response.put("appointments", dtos);
             return ResponseEntity.ok(response);
@@ -95,30 +111,17 @@ public class PatientService {
         }
     }
 
-    @Transactional
-    public ResponseEntity<Map<String, Object>> filterByDoctor(String name, Long patientId) {
+    @Workload(WorkloadClass.DASHBOARD)
+    @Transactional(readOnly = true)
+    public ResponseEntity<Map<String, Object>> filterByDoctor(String name, Long patientId, AppointmentCursor cursor) {
         Map<String, Object> response = new HashMap<>();
         try {
-            List<Appointment> appointments = appointmentRepository.findByDoctorIdAndPatient_NameContainingIgnoreCaseAndAppointmentTimeBetween(
-                    null, // doctorId null because filtering by patient and doctor name
-                    name,
-                    LocalDateTime.MIN,
-                    LocalDateTime.MAX
-            );
-            // However, the requirement is to filter appointments by doctor's name and patientId,
-            // so ideally, you should have a query method like this:
-            // findByPatientIdAndDoctorNameContainingIgnoreCase(Long patientId, String doctorName)
-            // But given constraints, let's do filtering in memory:
-
-            List<Appointment> filtered = appointments.stream()
-                    .filter(a -> a.getPatient().getId().equals(patientId))
-                    .collect(Collectors.toList());
-
-            List<AppointmentDTO> dtos = filtered.stream()
-                .map(AppointmentDTO::new)
-                .collect(Collectors.toList());
+            // Doctor name and patient are both filtered in SQL; only one keyset page is loaded
+            List<AppointmentDTO> dtos = appointmentRepository.filterByDoctorNameAndPatientId(
+                    name, patientId, cursor.getAfterTime(), cursor.getAfterId(), page(cursor));
 
             response.put("appointments", dtos);
+            response.put("nextCursor", cursor.next(dtos));
             return ResponseEntity.ok(response);
 
         } catch (Exception e) {
@@ -127,8 +130,10 @@ public class PatientService {
         }
     }
 
-    @Transactional
-    public ResponseEntity<Map<String, Object>> filterByDoctorAndCondition(String condition, String name, long patientId) {
+    @Workload(WorkloadClass.DASHBOARD)
+    @Transactional(readOnly = true)
+    public ResponseEntity<Map<String, Object>> filterByDoctorAndCondition(String condition, String name, long patientId,
+                                                                          AppointmentCursor cursor) {
         Map<String, Object> response = new HashMap<>();
         try {
             int status;
@@ -141,19 +146,11 @@ public class PatientService {
                 return ResponseEntity.badRequest().body(response);
             }
 
-            // Ideally a custom query combining doctor name, patient id, and status should be used.
-            // For now, fetch all appointments for patient and filter by doctor name and status:
-            List<Appointment> appointments = appointmentRepository.findByPatient_IdAndStatusOrderByAppointmentTimeAsc(patientId, status);
-
-            List<Appointment> filtered = appointments.stream()
-                .filter(a -> a.getDoctor().getName().toLowerCase().contains(name.toLowerCase()))
-                .collect(Collectors.toList());
-
-            List<AppointmentDTO> dtos = filtered.stream()
-                .map(AppointmentDTO::new)
-                .collect(Collectors.toList());
+            List<AppointmentDTO> dtos = appointmentRepository.filterByDoctorNameAndPatientIdAndStatus(
+                    name, patientId, status, cursor.getAfterTime(), cursor.getAfterId(), page(cursor));
 
             response.put("appointments", dtos);
+            response.put("nextCursor", cursor.next(dtos));
             return ResponseEntity.ok(response);
 
         } catch (Exception e) {
@@ -181,4 +178,26 @@ public class PatientService {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
     }
+
+    // One keyset page, or no limit for callers that do not page (the web frontend never reads nextCursor)
+    private static Pageable page(AppointmentCursor cursor) {
+        return cursor.isPaged() ? PageRequest.ofSize(cursor.getSize()) : Pageable.unpaged();
+    }
+
+    // Rows from `since` on; the archive is only read when `since` is older than the archive horizon
+    private List<AppointmentDTO> withHistory(List<AppointmentDTO> hot, LocalDate since,
+                                             Function<LocalDateTime, List<AppointmentDTO>> archived) {
+        LocalDateTime from = since.atStartOfDay();
+        Map<Long, AppointmentDTO> byId = new HashMap<>();
+        if (from.isBefore(AppointmentArchivalJob.archiveHorizon(retentionDays))) {
+            for (AppointmentDTO dto : archived.apply(from)) byId.put(dto.getId(), dto);
+        }
+        // Hot rows win if a row is being archived while we read
+        for (AppointmentDTO dto : hot) {
+            if (!dto.getAppointmentTime().isBefore(from)) byId.put(dto.getId(), dto);
+        }
+        List<AppointmentDTO> result = new ArrayList<>(byId.values());
+        result.sort(Comparator.comparing(AppointmentDTO::getAppointmentTime).thenComparing(AppointmentDTO::getId));
+        return result;
+    }
 }
@@ -3,7 +3,10 @@ package com.project.back_end.services;
 import com.project.back_end.model.Prescription;
 import com.project.back_end.repo.PrescriptionRepository;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -13,6 +16,8 @@ import java.util.*;
 @Service
 public class PrescriptionService {
 
+    private static final Logger log = LoggerFactory.getLogger(PrescriptionService.class);
+
     private final PrescriptionRepository prescriptionRepository;
 
     @Autowired
@@ -23,17 +28,14 @@ public class PrescriptionService {
     public ResponseEntity<Map<String, String>> savePrescription(Prescription prescription) {
         Map<String, String> response = new HashMap<>();
         try {
-            // Check if prescription already exists for the appointment
-            List<Prescription> existing = prescriptionRepository.findByAppointmentId(prescription.getAppointmentId());
-            if (!existing.isEmpty()) {
-                response.put("message", "Prescription already exists for this appointment.");
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
-            }
-
-            prescriptionRepository.save(prescription);
+            // Single round trip: the unique index on appointmentId rejects a second prescription
+            prescriptionRepository.insert(prescription);
             response.put("message", "Prescription saved");
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
 
+        } catch (DuplicateKeyException e) {
+            response.put("message", "Prescription already exists for this appointment.");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
         } catch (Exception e) {
             e.printStackTrace(); // Or use a logger
             response.put("message", "Internal server error");
@@ -60,4 +62,27 @@ public class PrescriptionService {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
     }
+
+    // Prescriptions of a whole appointment list in one query, grouped by appointment ID
+    public ResponseEntity<Map<String, Object>> getPrescriptions(List<Long> appointmentIds, boolean includeNotes) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            List<Prescription> prescriptions = includeNotes
+                    ? prescriptionRepository.findByAppointmentIdIn(appointmentIds)
+                    : prescriptionRepository.findSummariesByAppointmentIdIn(appointmentIds);
+
+            Map<Long, List<Prescription>> byAppointment = new LinkedHashMap<>();
+            for (Prescription prescription : prescriptions) {
+                byAppointment.computeIfAbsent(prescription.getAppointmentId(), id -> new ArrayList<>()).add(prescription);
+            }
+
+            response.put("prescriptions", byAppointment);
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            log.error("Batch prescription lookup failed for {} appointments", appointmentIds.size(), e);
+            response.put("message", "Internal server error");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
 }
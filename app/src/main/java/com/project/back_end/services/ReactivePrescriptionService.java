@@ -0,0 +1,88 @@
+package com.project.back_end.services;
+
+import com.project.back_end.models.Prescription;
+import com.project.back_end.repo.ReactivePrescriptionRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reactive variant of PrescriptionService. Mongo round trips do not occupy a request thread;
+ * the same response bodies and status codes are produced as on the blocking path.
+ */
+@Service
+public class ReactivePrescriptionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactivePrescriptionService.class);
+
+    // Documents requested from the Mongo cursor per batch while a client drains a multi-document read
+    private static final int READ_PREFETCH = 64;
+
+    private final ReactivePrescriptionRepository prescriptionRepository;
+
+    @Autowired
+    public ReactivePrescriptionService(ReactivePrescriptionRepository prescriptionRepository) {
+        this.prescriptionRepository = prescriptionRepository;
+    }
+
+    // 1. Insert a prescription; the unique index on appointmentId rejects a second one
+    public Mono<ResponseEntity<Map<String, String>>> savePrescription(Prescription prescription) {
+        return prescriptionRepository.insert(prescription)
+                .map(saved -> ResponseEntity.status(HttpStatus.CREATED)
+                        .body(message("Prescription saved")))
+                .onErrorResume(DuplicateKeyException.class, e -> Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(message("Prescription already exists for this appointment."))))
+                .onErrorResume(e -> {
+                    log.error("Saving prescription for appointment {} failed", prescription.getAppointmentId(), e);
+                    return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                            .body(message("Internal server error")));
+                });
+    }
+
+    // 2. Prescriptions of one appointment, 404 when there are none
+    public Mono<ResponseEntity<Map<String, Object>>> getPrescription(Long appointmentId) {
+        return prescriptionRepository.findByAppointmentId(appointmentId)
+                .collectList()
+                .map(prescriptions -> {
+                    Map<String, Object> response = new HashMap<>();
+                    if (prescriptions.isEmpty()) {
+                        response.put("message", "No prescriptions found for the given appointment ID.");
+                        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+                    }
+                    response.put("prescriptions", prescriptions);
+                    return ResponseEntity.ok(response);
+                })
+                .onErrorResume(e -> {
+                    log.error("Prescription lookup for appointment {} failed", appointmentId, e);
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("message", "Internal server error");
+                    return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response));
+                });
+    }
+
+    // 3. Prescriptions of many appointments as a stream; limitRate bounds how far the
+    //    Mongo cursor runs ahead of a slow client
+    public Flux<Prescription> streamPrescriptions(Collection<Long> appointmentIds, boolean includeNotes) {
+        Flux<Prescription> prescriptions = includeNotes
+                ? prescriptionRepository.findByAppointmentIdIn(appointmentIds)
+                : prescriptionRepository.findSummariesByAppointmentIdIn(appointmentIds);
+        return prescriptions.limitRate(READ_PREFETCH);
+    }
+
+    private static Map<String, String> message(String text) {
+        Map<String, String> response = new HashMap<>();
+        response.put("message", text);
+        return response;
+    }
+}
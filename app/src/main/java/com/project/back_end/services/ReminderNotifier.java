@@ -0,0 +1,15 @@
+package com.project.back_end.services;
+
+import com.project.back_end.DTO.AppointmentReminder;
+
+import java.util.List;
+
+/**
+ * Delivery channel for appointment reminders. The active implementation is chosen with
+ * reminders.notifier (log or file); an e-mail or SMS gateway plugs in as another bean.
+ */
+public interface ReminderNotifier {
+
+    // Deliver one batch of due reminders
+    void send(List<AppointmentReminder> reminders);
+}
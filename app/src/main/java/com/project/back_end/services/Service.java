@@ -1,12 +1,17 @@
 package com.project.back_end.services;
 
+import com.project.back_end.DTO.AppointmentCursor;
+import com.project.back_end.DTO.DoctorFilter;
+import com.project.back_end.config.ReadYourWritesTracker;
 import com.project.back_end.model.*;
 import com.project.back_end.repo.*;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.util.*;
 
 @Service
@@ -18,6 +23,9 @@ public class Service {
     private final PatientRepository patientRepository;
     private final DoctorService doctorService;
     private final PatientService patientService;
+    private final SlotAvailabilityIndex slotAvailabilityIndex;
+    private final MeterRegistry meterRegistry;
+    private final ReadYourWritesTracker readYourWrites;
 
     @Autowired
     public Service(TokenService tokenService,
@@ -25,13 +33,19 @@ public class Service {
                    DoctorRepository doctorRepository,
                    PatientRepository patientRepository,
                    DoctorService doctorService,
-                   PatientService patientService) {
+                   PatientService patientService,
+                   SlotAvailabilityIndex slotAvailabilityIndex,
+                   MeterRegistry meterRegistry,
+                   ReadYourWritesTracker readYourWrites) {
         this.tokenService = tokenService;
         this.adminRepository = adminRepository;
         this.doctorRepository = doctorRepository;
         this.patientRepository = patientRepository;
         this.doctorService = doctorService;
         this.patientService = patientService;
+        this.slotAvailabilityIndex = slotAvailabilityIndex;
+        this.meterRegistry = meterRegistry;
+        this.readYourWrites = readYourWrites;
     }
 
     // 1. Validate Token
@@ -40,12 +54,17 @@ public class Service {
         try {
             boolean valid = tokenService.validateToken(token, user);
             if (!valid) {
+                countTokenValidation(user, "invalid");
                 response.put("message", "Invalid or expired token");
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
             }
+            countTokenValidation(user, "valid");
+            // Lets reads of this request stay on the primary right after the same principal wrote
+            readYourWrites.bindPrincipal(tokenService.extractIdentifier(token));
             response.put("message", "Token valid");
             return ResponseEntity.ok(response);
         } catch (Exception e) {
+            countTokenValidation(user, "error");
             response.put("message", "Error validating token");
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
@@ -73,42 +92,26 @@ public class Service {
         }
     }
 
-    // 3. Filter Doctor
+    // 3. Filter Doctor (any combination of criteria; blank ones are ignored)
     public Map<String, Object> filterDoctor(String name, String specialty, String time) {
-        Map<String, Object> response = new HashMap<>();
         try {
-            if ((name == null || name.isEmpty()) && (specialty == null || specialty.isEmpty()) && (time == null || time.isEmpty())) {
-                // Return all doctors if no filter provided
-                List<Doctor> doctors = doctorService.getDoctors();
-                response.put("doctors", doctors);
-                return response;
-            }
-            List<Doctor> filteredDoctors = doctorService.filterDoctorsByNameSpecilityandTime(
-                    name == null ? "" : name,
-                    specialty == null ? "" : specialty,
-                    time == null ? "" : time
-            );
-            response.put("doctors", filteredDoctors);
-            return response;
+            return doctorService.filterDoctors(DoctorFilter.of(name, specialty, time));
         } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
             response.put("message", "Error filtering doctors");
             return response;
         }
     }
 
-    // 4. Validate Appointment
+    // 4. Validate Appointment (answered from the slot index; the booking itself re-checks atomically)
     public int validateAppointment(Appointment appointment) {
         try {
-            Optional<Doctor> optDoctor = doctorRepository.findById(appointment.getDoctorId());
-            if (optDoctor.isEmpty()) {
+            Long doctorId = appointment.getDoctor().getId();
+            if (!slotAvailabilityIndex.hasDoctor(doctorId)) {
                 return -1; // doctor doesn't exist
             }
-            List<String> availableSlots = doctorService.getDoctorAvailability(appointment.getDoctorId(), appointment.getAppointmentTime().toLocalDate());
-            String requestedTime = appointment.getAppointmentTime().toLocalTime().toString();
-            for (String slot : availableSlots) {
-                if (slot.equals(requestedTime)) {
-                    return 1; // valid appointment time
-                }
+            if (slotAvailabilityIndex.isAvailable(doctorId, appointment.getAppointmentTime())) {
+                return 1;  // valid appointment time
             }
             return 0; // time unavailable
         } catch (Exception e) {
@@ -149,7 +152,8 @@ public class Service {
     }
 
     // 7. Filter Patient
-    public ResponseEntity<Map<String, Object>> filterPatient(String condition, String name, String token) {
+    public ResponseEntity<Map<String, Object>> filterPatient(String condition, String name, String token,
+                                                             AppointmentCursor cursor, LocalDate since) {
         Map<String, Object> response = new HashMap<>();
         try {
             String email = tokenService.extractEmail(token);
@@ -163,22 +167,37 @@ public class Service {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
             }
 
+            // Archived history is only merged into the unpaged listings; the doctor-name pages never read it
+            if (since != null && name != null && !name.isEmpty()) {
+                response.put("message", "'since' cannot be combined with a doctor name filter");
+                return ResponseEntity.badRequest().body(response);
+            }
+
             if ((condition == null || condition.isEmpty()) && (name == null || name.isEmpty())) {
                 // No filters: return all appointments
-                return patientService.getPatientAppointment(patient.getId(), token);
+                return patientService.getPatientAppointment(patient.getId(), token, since);
             } else if (condition != null && !condition.isEmpty() && (name == null || name.isEmpty())) {
                 // Filter by condition only
-                return patientService.filterByCondition(condition, patient.getId());
+                return patientService.filterByCondition(condition, patient.getId(), since);
             } else if ((condition == null || condition.isEmpty()) && name != null && !name.isEmpty()) {
                 // Filter by doctor name only
-                return patientService.filterByDoctor(name, patient.getId());
+                return patientService.filterByDoctor(name, patient.getId(), cursor);
             } else {
                 // Filter by both condition and doctor name
-                return patientService.filterByDoctorAndCondition(condition, name, patient.getId());
+                return patientService.filterByDoctorAndCondition(condition, name, patient.getId(), cursor);
             }
         } catch (Exception e) {
             response.put("message", "Internal server error");
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
     }
+
+    // auth.token.validations{role, outcome}; the role comes from the URL, so unknown values are folded into "other"
+    private void countTokenValidation(String user, String outcome) {
+        String role = switch (user == null ? "" : user) {
+            case "admin", "doctor", "patient" -> user;
+            default -> "other";
+        };
+        meterRegistry.counter("auth.token.validations", "role", role, "outcome", outcome).increment();
+    }
 }
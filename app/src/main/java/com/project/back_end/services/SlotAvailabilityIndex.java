@@ -0,0 +1,202 @@
+package com.project.back_end.services;
+
+import com.project.back_end.models.Appointment;
+import com.project.back_end.models.AvailabilityTemplate;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.repo.AppointmentRepository;
+import com.project.back_end.repo.DoctorRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of free appointment slots per doctor and day.
+ * Each (doctorId, date) entry is a bitset over the doctor's availableTimes template,
+ * with a bit set for every slot that is still free. Once an entry is warm, availability
+ * reads are answered without touching the database. Days are loaded outside the map's locks;
+ * concurrent readers of a day that is being loaded wait for that one load.
+ */
+@Component
+public class SlotAvailabilityIndex {
+
+    private final DoctorRepository doctorRepository;
+    private final AppointmentRepository appointmentRepository;
+
+    // doctorId -> the doctor's parsed availability template
+    private final Map<Long, AvailabilityTemplate> templates = new ConcurrentHashMap<>();
+
+    // (doctorId, date) -> free slots; values are never mutated in place, only replaced
+    private final Map<DayKey, BitSet> freeSlots = new ConcurrentHashMap<>();
+
+    // Days whose load is in flight; completed only after the loaded day is in freeSlots
+    private final Map<DayKey, CompletableFuture<BitSet>> loading = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SlotAvailabilityIndex(DoctorRepository doctorRepository, AppointmentRepository appointmentRepository) {
+        this.doctorRepository = doctorRepository;
+        this.appointmentRepository = appointmentRepository;
+    }
+
+    // 1. Free slots of a doctor on a given day, loading the day on a cold cache
+    public List<String> getAvailableSlots(Long doctorId, LocalDate date) {
+        AvailabilityTemplate template = getTemplate(doctorId);
+        if (template == null) return Collections.emptyList();
+
+        BitSet free = day(new DayKey(doctorId, date), template);
+        List<String> result = new ArrayList<>(free.cardinality());
+        for (int i = free.nextSetBit(0); i >= 0; i = free.nextSetBit(i + 1)) {
+            result.add(template.slotAt(i));
+        }
+        return result;
+    }
+
+    // 2. Whether a single slot is still free
+    public boolean isAvailable(Long doctorId, LocalDateTime time) {
+        AvailabilityTemplate template = getTemplate(doctorId);
+        if (template == null) return false;
+
+        int slot = template.indexOf(time.toLocalTime());
+        if (slot < 0) return false;
+
+        return day(new DayKey(doctorId, time.toLocalDate()), template).get(slot);
+    }
+
+    // 3. Atomically claim a free slot; false if it is unknown or already taken.
+    //    The check-and-clear runs under the map's per-key lock, so bookings for different doctors never contend.
+    public boolean tryReserve(Long doctorId, LocalDateTime time) {
+        AvailabilityTemplate template = getTemplate(doctorId);
+        if (template == null) return false;
+
+        int slot = template.indexOf(time.toLocalTime());
+        if (slot < 0) return false;
+
+        DayKey dayKey = new DayKey(doctorId, time.toLocalDate());
+        boolean[] reserved = {false};
+        boolean[] cached = {false};
+        // The check-and-clear needs the day in the map; load it again if it was evicted in between
+        while (!cached[0]) {
+            day(dayKey, template);
+            freeSlots.computeIfPresent(dayKey, (key, free) -> {
+                cached[0] = true;
+                if (!free.get(slot)) return free;
+
+                BitSet updated = (BitSet) free.clone();
+                updated.clear(slot);
+                reserved[0] = true;
+                return updated;
+            });
+        }
+
+        // Give the slot back if the surrounding transaction does not commit
+        if (reserved[0]) TransactionHooks.afterRollback(() -> release(doctorId, time));
+        return reserved[0];
+    }
+
+    // 4. Give back a reservation whose insert failed
+    public void release(Long doctorId, LocalDateTime time) {
+        setSlot(doctorId, time, true);
+    }
+
+    // 5. Whether the doctor exists (and therefore has a template, possibly empty)
+    public boolean hasDoctor(Long doctorId) {
+        return getTemplate(doctorId) != null;
+    }
+
+    // 6. Mark a slot as free again (after the surrounding transaction commits)
+    public void markFreed(Long doctorId, LocalDateTime time) {
+        TransactionHooks.afterCommit(() -> setSlot(doctorId, time, true));
+    }
+
+    // 7. Drop everything cached for a doctor (template changed or doctor deleted)
+    public void evictDoctor(Long doctorId) {
+        TransactionHooks.afterCommit(() -> {
+            templates.remove(doctorId);
+            freeSlots.keySet().removeIf(key -> key.doctorId().equals(doctorId));
+        });
+    }
+
+    private void setSlot(Long doctorId, LocalDateTime time, boolean free) {
+        AvailabilityTemplate template = templates.get(doctorId);
+        if (template == null) return;
+
+        int slot = template.indexOf(time.toLocalTime());
+        if (slot < 0) return;
+
+        DayKey key = new DayKey(doctorId, time.toLocalDate());
+        // A load in flight may have read the day before this change; re-apply it once that load is published
+        CompletableFuture<BitSet> inFlight = loading.get(key);
+        if (inFlight != null) inFlight.thenRun(() -> applySlot(key, slot, free));
+        // Days that are not cached (or loading) yet will be loaded from the database on first read
+        applySlot(key, slot, free);
+    }
+
+    private void applySlot(DayKey key, int slot, boolean free) {
+        freeSlots.computeIfPresent(key, (k, current) -> {
+            if (current.get(slot) == free) return current;
+            BitSet updated = (BitSet) current.clone();
+            updated.set(slot, free);
+            return updated;
+        });
+    }
+
+    private AvailabilityTemplate getTemplate(Long doctorId) {
+        AvailabilityTemplate template = templates.get(doctorId);
+        if (template != null) return template;
+
+        Optional<Doctor> doctorOpt = doctorRepository.findById(doctorId);
+        if (doctorOpt.isEmpty()) return null;
+
+        return templates.computeIfAbsent(doctorId, id -> doctorOpt.get().getAvailabilityTemplate());
+    }
+
+    // Cached day, loaded on first use; past days are pruned before a cold load. The query runs outside
+    // the map (no bin lock held across JDBC); other threads asking for the same day wait for this load.
+    private BitSet day(DayKey key, AvailabilityTemplate template) {
+        BitSet free = freeSlots.get(key);
+        if (free != null) return free;
+
+        CompletableFuture<BitSet> load = new CompletableFuture<>();
+        CompletableFuture<BitSet> existing = loading.putIfAbsent(key, load);
+        if (existing != null) return existing.join();
+
+        try {
+            LocalDate today = LocalDate.now();
+            freeSlots.keySet().removeIf(cached -> cached.date().isBefore(today));
+
+            BitSet loaded = loadDay(key, template);
+            BitSet current = freeSlots.putIfAbsent(key, loaded);
+            load.complete(current != null ? current : loaded);
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, load);
+        }
+        return load.join();
+    }
+
+    private BitSet loadDay(DayKey key, AvailabilityTemplate template) {
+        BitSet free = new BitSet(template.size());
+        free.set(0, template.size());
+
+        List<Appointment> booked = appointmentRepository.findByDoctorIdAndAppointmentTimeBetween(
+                key.doctorId(),
+                key.date().atStartOfDay(),
+                key.date().plusDays(1).atStartOfDay()
+        );
+        for (Appointment appointment : booked) {
+            int slot = template.indexOf(appointment.getAppointmentTime().toLocalTime());
+            if (slot >= 0) free.clear(slot);
+        }
+        return free;
+    }
+
+    private record DayKey(Long doctorId, LocalDate date) {
+    }
+}
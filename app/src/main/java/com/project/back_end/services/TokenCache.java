@@ -0,0 +1,96 @@
+package com.project.back_end.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of verified JWT claims, keyed by a SHA-256 digest of the token.
+ * An entry lives until the token expires or the configured TTL passes, whichever comes first,
+ * and remembers the principal id resolved for each role so repeat requests skip the repository lookup.
+ * Backed by a Caffeine cache, so lookups do not contend on a shared lock; the digest is computed
+ * before the cache is touched.
+ */
+@Component
+public class TokenCache {
+
+    private final long ttlMillis;
+
+    // Size-bounded (least recently/frequently used goes first); each entry expires at its own expiresAt
+    private final Cache<String, CachedToken> entries;
+
+    public TokenCache(@Value("${jwt.cache.max-size:10000}") int maxSize,
+                      @Value("${jwt.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.ttlMillis = ttlSeconds * 1000;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, CachedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedToken cached, long currentTime) {
+                        return remainingNanos(cached);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedToken cached, long currentTime, long currentDuration) {
+                        return remainingNanos(cached);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedToken cached, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    // 1. Look up verified claims; expired entries are never returned
+    public CachedToken get(String token) {
+        CachedToken cached = entries.getIfPresent(digest(token));
+        if (cached == null || cached.expiresAt() <= System.currentTimeMillis()) return null;
+        return cached;
+    }
+
+    // 2. Store the claims of a token that has just passed signature verification
+    public CachedToken put(String token, String identifier, long tokenExpiresAt) {
+        String key = digest(token);
+        long expiresAt = Math.min(tokenExpiresAt, System.currentTimeMillis() + ttlMillis);
+        CachedToken cached = new CachedToken(identifier, expiresAt, new ConcurrentHashMap<>());
+        entries.put(key, cached);
+        return cached;
+    }
+
+    // 3. Forget every token of a principal (account updated or deleted), matched by identifier or by
+    //    the id resolved for the role, so tokens issued under a since-changed identifier go as well
+    public void invalidate(String role, Long principalId, String identifier) {
+        entries.asMap().values().removeIf(cached ->
+                (identifier != null && identifier.equals(cached.identifier()))
+                        || (principalId != null && principalId.equals(cached.principalIds().get(role))));
+    }
+
+    private static long remainingNanos(CachedToken cached) {
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, cached.expiresAt() - System.currentTimeMillis()));
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // principalIds: role ("admin", "doctor", "patient") -> resolved entity id
+    public record CachedToken(String identifier, long expiresAt, Map<String, Long> principalIds) {
+    }
+}
@@ -14,7 +14,6 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
-import java.util.Optional;
 
 @Component
 public class TokenService {
@@ -22,6 +21,7 @@ public class TokenService {
     private final AdminRepository adminRepository;
     private final DoctorRepository doctorRepository;
     private final PatientRepository patientRepository;
+    private final TokenCache tokenCache;
 
     // Secret key from application.properties
     @Value("${jwt.secret}")
@@ -31,10 +31,12 @@ public class TokenService {
 
     public TokenService(AdminRepository adminRepository,
                         DoctorRepository doctorRepository,
-                        PatientRepository patientRepository) {
+                        PatientRepository patientRepository,
+                        TokenCache tokenCache) {
         this.adminRepository = adminRepository;
         this.doctorRepository = doctorRepository;
         this.patientRepository = patientRepository;
+        this.tokenCache = tokenCache;
     }
 
     @PostConstruct
@@ -62,6 +64,41 @@ public class TokenService {
 
     // 5. extractIdentifier method (extract email or username)
     public String extractIdentifier(String token) {
+        TokenCache.CachedToken cached = verify(token);
+        return cached != null ? cached.identifier() : null;
+    }
+
+    // 6. validateToken method
+    public boolean validateToken(String token, String userType) {
+        try {
+            TokenCache.CachedToken cached = verify(token);
+            if (cached == null) return false;
+
+            String role = userType.toLowerCase();
+            if (cached.principalIds().containsKey(role)) return true;
+
+            Long principalId = resolvePrincipalId(role, cached.identifier());
+            if (principalId == null) return false;
+
+            cached.principalIds().put(role, principalId);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    // 7. Drop cached tokens of a principal whose account was updated or deleted, once that change commits
+    public void invalidate(String role, Long principalId, String identifier) {
+        TransactionHooks.afterCommit(() -> tokenCache.invalidate(role, principalId, identifier));
+    }
+
+    // Verifies the signature once per token; later calls are served from the cache until expiry
+    private TokenCache.CachedToken verify(String token) {
+        if (token == null) return null;
+
+        TokenCache.CachedToken cached = tokenCache.get(token);
+        if (cached != null) return cached;
+
         try {
             Claims claims = Jwts.parserBuilder()
                     .setSigningKey(getSigningKey())
@@ -69,33 +106,27 @@ public class TokenService {
                     .parseClaimsJws(token)
                     .getBody();
 
-            return claims.getSubject();
+            // Tokens issued here always carry an expiry; one without it is not accepted
+            if (claims.getExpiration() == null) return null;
+            return tokenCache.put(token, claims.getSubject(), claims.getExpiration().getTime());
         } catch (JwtException | IllegalArgumentException e) {
             return null;
         }
     }
 
-    // 6. validateToken method
-    public boolean validateToken(String token, String userType) {
-        try {
-            String identifier = extractIdentifier(token);
-            if (identifier == null) return false;
-
-            switch (userType.toLowerCase()) {
-                case "admin":
-                    Optional<Admin> admin = Optional.ofNullable(adminRepository.findByUsername(identifier));
-                    return admin.isPresent();
-                case "doctor":
-                    Optional<Doctor> doctor = doctorRepository.findByEmail(identifier);
-                    return doctor.isPresent();
-                case "patient":
-                    Optional<Patient> patient = patientRepository.findByEmail(identifier);
-                    return patient.isPresent();
-                default:
-                    return false;
-            }
-        } catch (Exception e) {
-            return false;
+    private Long resolvePrincipalId(String role, String identifier) {
+        switch (role) {
+            case "admin":
+                Admin admin = adminRepository.findByUsername(identifier);
+                return admin != null ? admin.getId() : null;
+            case "doctor":
+                Doctor doctor = doctorRepository.findByEmail(identifier);
+                return doctor != null ? doctor.getId() : null;
+            case "patient":
+                Patient patient = patientRepository.findByEmail(identifier);
+                return patient != null ? patient.getId() : null;
+            default:
+                return null;
         }
     }
 }
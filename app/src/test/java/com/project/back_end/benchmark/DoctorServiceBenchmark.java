@@ -0,0 +1,69 @@
+package com.project.back_end.benchmark;
+
+import com.project.back_end.DTO.DoctorFilter;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.repo.AppointmentRepository;
+import com.project.back_end.repo.DoctorRepository;
+import com.project.back_end.services.DoctorRosterVersion;
+import com.project.back_end.services.DoctorSearchIndex;
+import com.project.back_end.services.DoctorService;
+import com.project.back_end.services.SlotAvailabilityIndex;
+import com.project.back_end.services.TokenCache;
+import com.project.back_end.services.TokenService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Doctor availability and AM/PM filtering over stubbed repositories.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DoctorServiceBenchmark {
+
+    private static final DoctorFilter AM = DoctorFilter.of(null, null, "am");
+    private static final DoctorFilter PM = DoctorFilter.of(null, null, "pm");
+
+    @Param({"10", "1000", "100000"})
+    int size;
+
+    private DoctorService doctorService;
+    private List<Doctor> doctors;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        doctors = SyntheticData.doctors(size);
+        DoctorRepository doctorRepository = StubRepositories.doctors(doctors);
+        AppointmentRepository appointmentRepository =
+                StubRepositories.appointments(SyntheticData.appointments(doctors, size));
+        TokenService tokenService = new TokenService(StubRepositories.admins(), doctorRepository,
+                StubRepositories.patients(), new TokenCache(10_000, 600));
+        doctorService = new DoctorService(doctorRepository, appointmentRepository, tokenService,
+                new SlotAvailabilityIndex(doctorRepository, appointmentRepository),
+                new DoctorSearchIndex(doctorRepository), new DoctorRosterVersion());
+    }
+
+    // Round-robins over all doctors so a large roster measures a realistic mix of warm entries
+    @Benchmark
+    public List<String> getDoctorAvailability() {
+        Doctor doctor = doctors.get(next++ % doctors.size());
+        return doctorService.getDoctorAvailability(doctor.getId(), SyntheticData.DAY);
+    }
+
+    @Benchmark
+    public Map<String, Object> filterDoctorsByTimeAm() {
+        return doctorService.filterDoctors(AM);
+    }
+
+    @Benchmark
+    public Map<String, Object> filterDoctorsByTimePm() {
+        return doctorService.filterDoctors(PM);
+    }
+}
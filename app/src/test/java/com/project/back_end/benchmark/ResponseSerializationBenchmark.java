@@ -0,0 +1,60 @@
+package com.project.back_end.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.back_end.DTO.AppointmentDTO;
+import com.project.back_end.models.Doctor;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AppointmentDTO construction and Jackson serialization of the Map responses returned by the controllers.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseSerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    int size;
+
+    private ObjectMapper objectMapper;
+    private Map<String, Object> doctorsResponse;
+    private Map<String, Object> appointmentsResponse;
+    private LocalDateTime appointmentTime;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Same defaults (JavaTimeModule etc.) as the ObjectMapper Spring Boot wires into MVC
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<Doctor> doctors = SyntheticData.doctors(size);
+        List<AppointmentDTO> appointments = SyntheticData.appointmentDtos(size);
+        doctorsResponse = Map.of("doctors", doctors);
+        appointmentsResponse = Map.of("appointments", appointments);
+        appointmentTime = SyntheticData.DAY.atTime(10, 0);
+    }
+
+    @Benchmark
+    public AppointmentDTO constructAppointmentDto() {
+        return new AppointmentDTO(1L, 2L, "Doctor 2", 3L, "Patient 3", "patient3@mail.com",
+                "0123456789", "3 Main Street", appointmentTime, 0);
+    }
+
+    @Benchmark
+    public byte[] serializeDoctorsResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(doctorsResponse);
+    }
+
+    @Benchmark
+    public byte[] serializeAppointmentsResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(appointmentsResponse);
+    }
+}
@@ -0,0 +1,82 @@
+package com.project.back_end.benchmark;
+
+import com.project.back_end.models.Appointment;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.repo.AdminRepository;
+import com.project.back_end.repo.AppointmentRepository;
+import com.project.back_end.repo.DoctorRepository;
+import com.project.back_end.repo.PatientRepository;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * In-memory stand-ins for the Spring Data repositories, built as dynamic proxies so that
+ * only the methods exercised by the benchmarks need an implementation.
+ */
+final class StubRepositories {
+
+    private StubRepositories() {
+    }
+
+    static DoctorRepository doctors(List<Doctor> doctors) {
+        Map<Long, Doctor> byId = new HashMap<>();
+        Map<String, Doctor> byEmail = new HashMap<>();
+        for (Doctor doctor : doctors) {
+            byId.put(doctor.getId(), doctor);
+            byEmail.put(doctor.getEmail(), doctor);
+        }
+        return stub(DoctorRepository.class, name -> switch (name) {
+            case "findAll" -> args -> doctors;
+            case "findById" -> args -> Optional.ofNullable(byId.get((Long) args[0]));
+            case "existsById" -> args -> byId.containsKey((Long) args[0]);
+            case "findByEmail" -> args -> byEmail.get((String) args[0]);
+            default -> null;
+        });
+    }
+
+    static AppointmentRepository appointments(List<Appointment> appointments) {
+        Map<Long, List<Appointment>> byDoctor = new HashMap<>();
+        for (Appointment appointment : appointments) {
+            byDoctor.computeIfAbsent(appointment.getDoctor().getId(), id -> new ArrayList<>()).add(appointment);
+        }
+        return stub(AppointmentRepository.class, name -> switch (name) {
+            case "findByDoctorIdAndAppointmentTimeBetween" -> args -> {
+                LocalDateTime start = (LocalDateTime) args[1];
+                LocalDateTime end = (LocalDateTime) args[2];
+                return byDoctor.getOrDefault((Long) args[0], List.of()).stream()
+                        .filter(a -> !a.getAppointmentTime().isBefore(start) && !a.getAppointmentTime().isAfter(end))
+                        .toList();
+            };
+            default -> null;
+        });
+    }
+
+    static AdminRepository admins() {
+        return stub(AdminRepository.class, name -> null);
+    }
+
+    static PatientRepository patients() {
+        return stub(PatientRepository.class, name -> null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, Function<String, Function<Object[], Object>> methods) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> type.getSimpleName() + "Stub";
+                };
+            }
+            Function<Object[], Object> impl = methods.apply(method.getName());
+            if (impl == null) {
+                throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+            }
+            return impl.apply(args);
+        });
+    }
+}
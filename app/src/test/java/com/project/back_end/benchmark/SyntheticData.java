@@ -0,0 +1,84 @@
+package com.project.back_end.benchmark;
+
+import com.project.back_end.DTO.AppointmentDTO;
+import com.project.back_end.models.Appointment;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.Patient;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic synthetic doctors, patients and appointments for the benchmarks.
+ */
+final class SyntheticData {
+
+    static final LocalDate DAY = LocalDate.now().plusDays(1);
+
+    private static final String[] SPECIALTIES = {"Cardiology", "Dermatology", "Neurology", "Pediatrics", "Orthopedics"};
+    private static final String[] SLOTS = {"09:00-10:00", "10:00-11:00", "11:00-12:00", "12:00-13:00",
+            "14:00-15:00", "15:00-16:00", "16:00-17:00"};
+
+    private SyntheticData() {
+    }
+
+    static List<Doctor> doctors(int count) {
+        List<Doctor> doctors = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            // Alternate morning-only, afternoon-only and full-day templates
+            List<String> times = switch (i % 3) {
+                case 0 -> List.of(SLOTS[0], SLOTS[1], SLOTS[2]);
+                case 1 -> List.of(SLOTS[3], SLOTS[4], SLOTS[5], SLOTS[6]);
+                default -> List.of(SLOTS);
+            };
+            Doctor doctor = new Doctor("Doctor " + i, SPECIALTIES[i % SPECIALTIES.length],
+                    "doctor" + i + "@clinic.com", "secret" + i, String.format("%010d", i), new ArrayList<>(times));
+            doctor.setId((long) i + 1);
+            doctors.add(doctor);
+        }
+        return doctors;
+    }
+
+    static Patient patient(long id) {
+        Patient patient = new Patient("Patient " + id, "patient" + id + "@mail.com", "secret" + id,
+                String.format("%010d", id), id + " Main Street");
+        patient.setId(id);
+        return patient;
+    }
+
+    // Books the first slot of every doctor on DAY, plus `count` extra appointments spread over other days
+    static List<Appointment> appointments(List<Doctor> doctors, int count) {
+        List<Appointment> appointments = new ArrayList<>(count + doctors.size());
+        for (Doctor doctor : doctors) {
+            appointments.add(appointment(appointments.size() + 1, doctor, firstSlot(doctor)));
+        }
+        for (int i = 0; i < count; i++) {
+            Doctor doctor = doctors.get(i % doctors.size());
+            appointments.add(appointment(appointments.size() + 1, doctor, firstSlot(doctor).plusDays(1 + i % 30)));
+        }
+        return appointments;
+    }
+
+    static List<AppointmentDTO> appointmentDtos(int count) {
+        List<AppointmentDTO> dtos = new ArrayList<>(count);
+        LocalDateTime start = DAY.atTime(9, 0);
+        for (int i = 0; i < count; i++) {
+            dtos.add(new AppointmentDTO((long) i, (long) i % 100, "Doctor " + i % 100, (long) i, "Patient " + i,
+                    "patient" + i + "@mail.com", "0123456789", i + " Main Street", start.plusHours(i % 8), 0));
+        }
+        return dtos;
+    }
+
+    private static Appointment appointment(long id, Doctor doctor, LocalDateTime time) {
+        Appointment appointment = new Appointment(doctor, patient(id), time, 0);
+        appointment.setId(id);
+        return appointment;
+    }
+
+    private static LocalDateTime firstSlot(Doctor doctor) {
+        String start = doctor.getAvailableTimes().get(0).split("-")[0];
+        return DAY.atTime(Integer.parseInt(start.substring(0, 2)), 0);
+    }
+}
@@ -0,0 +1,57 @@
+package com.project.back_end.benchmark;
+
+import com.project.back_end.services.TokenCache;
+import com.project.back_end.services.TokenService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT signing and verification, with and without the verified-claims cache.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenServiceBenchmark {
+
+    private static final String SECRET = "$!@#$^%$$$%####$DDCPN0234FCFDPD8670M";
+
+    private TokenService cachedTokenService;
+    private TokenService uncachedTokenService;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        cachedTokenService = tokenService(new TokenCache(10_000, 600));
+        // A zero-sized cache evicts every entry on insert, so each call re-verifies the signature
+        uncachedTokenService = tokenService(new TokenCache(0, 600));
+        token = cachedTokenService.generateToken("doctor1@clinic.com");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachedTokenService.generateToken("doctor1@clinic.com");
+    }
+
+    @Benchmark
+    public String extractIdentifierCached() {
+        return cachedTokenService.extractIdentifier(token);
+    }
+
+    @Benchmark
+    public String extractIdentifierUncached() {
+        return uncachedTokenService.extractIdentifier(token);
+    }
+
+    private static TokenService tokenService(TokenCache cache) {
+        TokenService tokenService = new TokenService(StubRepositories.admins(),
+                StubRepositories.doctors(SyntheticData.doctors(10)), StubRepositories.patients(), cache);
+        ReflectionTestUtils.setField(tokenService, "secret", SECRET);
+        tokenService.init();
+        return tokenService;
+    }
+}
@@ -0,0 +1,103 @@
+package com.project.back_end.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Two embedded H2 databases stand in for the primary and a replica; each knows its own name
+class ReadWriteRoutingTest {
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+    private ReadYourWritesTracker readYourWrites;
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primaryDataSource = h2("primary");
+        DataSource replicaDataSource = h2("replica");
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("CREATE TABLE replica_lag (seconds INT)");
+        replica.update("INSERT INTO replica_lag VALUES (0)");
+
+        readYourWrites = new ReadYourWritesTracker(5);
+        routing = new ReplicaRoutingDataSource(primaryDataSource, Map.of("replica-0", replicaDataSource),
+                readYourWrites, 2, "SELECT seconds AS lag FROM replica_lag", "lag");
+        routing.refreshLag();
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(routing);
+        jdbc = new JdbcTemplate(dataSource);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        primary.execute("DROP ALL OBJECTS");
+        replica.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplicaAndWritesThePrimary() {
+        assertEquals("replica", readOnly.execute(status -> serverName()));
+        assertEquals("primary", readWrite.execute(status -> serverName()));
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimary() {
+        replica.update("UPDATE replica_lag SET seconds = 30");
+        routing.refreshLag();
+        assertEquals("primary", readOnly.execute(status -> serverName()));
+
+        replica.update("UPDATE replica_lag SET seconds = 1");
+        routing.refreshLag();
+        assertEquals("replica", readOnly.execute(status -> serverName()));
+    }
+
+    @Test
+    void principalReadsItsOwnWritesFromPrimary() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        readYourWrites.bindPrincipal("patient@example.com");
+        readYourWrites.markWrite();
+        assertEquals("primary", readOnly.execute(status -> serverName()));
+
+        // Another request, another principal: unaffected
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        readYourWrites.bindPrincipal("other@example.com");
+        assertEquals("replica", readOnly.execute(status -> serverName()));
+    }
+
+    private String serverName() {
+        return jdbc.queryForObject("SELECT name FROM server", String.class);
+    }
+
+    private static DataSource h2(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE server (name VARCHAR(20))");
+        jdbc.update("INSERT INTO server VALUES (?)", name);
+        return dataSource;
+    }
+}
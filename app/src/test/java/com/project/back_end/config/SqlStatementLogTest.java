@@ -0,0 +1,42 @@
+package com.project.back_end.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatementLogTest {
+
+    private final SqlStatementInspector inspector = new SqlStatementInspector();
+
+    @Test
+    void fingerprintCollapsesLiteralsAndInLists() {
+        assertEquals("select * from doctor d where d.id in (?) and d.name=?",
+                SqlStatementLog.fingerprint("SELECT *  FROM doctor d\n WHERE d.id IN (1, 2, 3) AND d.name='O''Brien'"));
+        assertEquals(SqlStatementLog.fingerprint("select * from patient where id in (?,?)"),
+                SqlStatementLog.fingerprint("select * from patient where id in (?)"));
+    }
+
+    @Test
+    void captureCountsStatementsPerShape() {
+        SqlStatementLog log = SqlStatementLog.capture(() -> {
+            inspector.inspect("select * from appointment where patient_id=?");
+            for (int i = 0; i < 6; i++) {
+                inspector.inspect("select * from doctor where id=?");
+            }
+        });
+
+        assertEquals(7, log.getCount());
+        assertEquals(6, log.getCountsByFingerprint().get("select * from doctor where id=?"));
+        assertEquals(1, log.getRepeated(5).size());
+        log.assertAtMost(7);
+        assertThrows(AssertionError.class, () -> log.assertAtMost(6));
+        assertThrows(AssertionError.class, () -> log.assertNoRepeats(5));
+    }
+
+    @Test
+    void statementsOutsideCaptureAreIgnored() {
+        inspector.inspect("select 1");
+        SqlStatementLog log = SqlStatementLog.capture(() -> { });
+        assertEquals(0, log.getCount());
+    }
+}
@@ -0,0 +1,71 @@
+package com.project.back_end.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashedTimingWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    // 4 buckets of 100 ms: one turn of the wheel is 400 ms
+    private final HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 4, START);
+
+    @Test
+    void taskExpiresOnTheTickOfItsDeadline() {
+        wheel.add("a", START + 250);
+
+        assertEquals(List.of(), wheel.advance(START + 299));
+        assertEquals(List.of("a"), wheel.advance(START + 300));
+        assertEquals(0, wheel.pending());
+    }
+
+    @Test
+    void deadlinesBeyondOneTurnWaitTheirRounds() {
+        // Same bucket as tick 2 and tick 6, but two turns further
+        wheel.add("far", START + 1000);
+        wheel.add("near", START + 200);
+
+        assertEquals(List.of("near"), wheel.advance(START + 200));
+        assertEquals(List.of(), wheel.advance(START + 999));
+        assertEquals(List.of("far"), wheel.advance(START + 1000));
+    }
+
+    @Test
+    void cancelledTaskNeverExpires() {
+        HashedTimingWheel.Timeout<String> timeout = wheel.add("a", START + 100);
+        wheel.add("b", START + 100);
+        wheel.cancel(timeout);
+        wheel.cancel(timeout);
+
+        assertEquals(1, wheel.pending());
+        assertEquals(List.of("b"), wheel.advance(START + 100));
+        assertEquals(0, wheel.pending());
+    }
+
+    @Test
+    void cancellingAnExpiredTaskDoesNotChangePending() {
+        HashedTimingWheel.Timeout<String> timeout = wheel.add("a", START + 100);
+        wheel.add("b", START + 500);
+        wheel.advance(START + 100);
+
+        wheel.cancel(timeout);
+        assertEquals(1, wheel.pending());
+    }
+
+    @Test
+    void lateDeadlineExpiresOnTheNextTick() {
+        wheel.advance(START + 1000);
+        wheel.add("late", START + 500);
+
+        assertEquals(List.of(), wheel.advance(START + 1099));
+        assertEquals(List.of("late"), wheel.advance(START + 1100));
+    }
+
+    @Test
+    void wheelSizeMustBeAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new HashedTimingWheel<String>(100, 6, START));
+    }
+}
@@ -0,0 +1,174 @@
+package com.project.back_end.services;
+
+import com.project.back_end.models.Appointment;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.Patient;
+import com.project.back_end.repo.AppointmentRepository;
+import com.project.back_end.repo.DoctorRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlotAvailabilityIndexTest {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(1);
+    private static final LocalDateTime NINE = DAY.atTime(9, 0);
+    private static final LocalDateTime TEN = DAY.atTime(10, 0);
+    private static final LocalDateTime ELEVEN = DAY.atTime(11, 0);
+
+    private final Doctor doctor = doctor();
+    private final List<Appointment> booked = new ArrayList<>();
+    private final SlotAvailabilityIndex index = new SlotAvailabilityIndex(doctors(doctor), appointments(booked));
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void loadsFreeSlotsFromBookedAppointments() {
+        booked.add(new Appointment(doctor, new Patient(), TEN, 0));
+
+        assertEquals(List.of("09:00-10:00", "11:00-12:00"), index.getAvailableSlots(1L, DAY));
+        assertFalse(index.isAvailable(1L, TEN));
+        assertFalse(index.tryReserve(1L, TEN));
+    }
+
+    @Test
+    void reserveClaimsASlotOnlyOnce() {
+        assertTrue(index.tryReserve(1L, NINE));
+        assertFalse(index.tryReserve(1L, NINE));
+        assertFalse(index.isAvailable(1L, NINE));
+        assertTrue(index.isAvailable(1L, ELEVEN));
+    }
+
+    @Test
+    void unknownDoctorAndSlotOutsideTheTemplateCannotBeReserved() {
+        assertFalse(index.hasDoctor(2L));
+        assertFalse(index.tryReserve(2L, NINE));
+        assertTrue(index.hasDoctor(1L));
+        assertFalse(index.tryReserve(1L, DAY.atTime(13, 0)));
+    }
+
+    @Test
+    void releaseAndMarkFreedGiveTheSlotBack() {
+        assertTrue(index.tryReserve(1L, NINE));
+        index.release(1L, NINE);
+        assertTrue(index.isAvailable(1L, NINE));
+
+        assertTrue(index.tryReserve(1L, NINE));
+        // No transaction: markFreed applies immediately
+        index.markFreed(1L, NINE);
+        assertTrue(index.tryReserve(1L, NINE));
+    }
+
+    @Test
+    void rollbackReleasesTheClaimAndCommitKeepsIt() {
+        TransactionSynchronizationManager.initSynchronization();
+        assertTrue(index.tryReserve(1L, NINE));
+        assertTrue(index.tryReserve(1L, TEN));
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertTrue(index.isAvailable(1L, NINE));
+        assertTrue(index.isAvailable(1L, TEN));
+
+        TransactionSynchronizationManager.initSynchronization();
+        assertTrue(index.tryReserve(1L, NINE));
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertFalse(index.isAvailable(1L, NINE));
+    }
+
+    @Test
+    void markFreedWaitsForTheCommit() {
+        assertTrue(index.tryReserve(1L, NINE));
+
+        TransactionSynchronizationManager.initSynchronization();
+        index.markFreed(1L, NINE);
+        assertFalse(index.isAvailable(1L, NINE));
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertTrue(index.isAvailable(1L, NINE));
+    }
+
+    @Test
+    void concurrentReservationsOfOneSlotHaveASingleWinner() throws Exception {
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger winners = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    if (index.tryReserve(1L, NINE)) winners.incrementAndGet();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, winners.get());
+        assertEquals(List.of("10:00-11:00", "11:00-12:00"), index.getAvailableSlots(1L, DAY));
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        for (TransactionSynchronization synchronization : synchronizations) {
+            synchronization.afterCompletion(status);
+        }
+    }
+
+    private static Doctor doctor() {
+        Doctor doctor = new Doctor("Doctor 1", "Cardiology", "doctor1@clinic.com", "secret", "0123456789",
+                new ArrayList<>(List.of("09:00-10:00", "10:00-11:00", "11:00-12:00")));
+        doctor.setId(1L);
+        return doctor;
+    }
+
+    private static DoctorRepository doctors(Doctor doctor) {
+        return stub(DoctorRepository.class, (method, args) -> switch (method) {
+            case "findById" -> Optional.ofNullable(doctor.getId().equals(args[0]) ? doctor : null);
+            default -> throw new UnsupportedOperationException(method);
+        });
+    }
+
+    private static AppointmentRepository appointments(List<Appointment> booked) {
+        return stub(AppointmentRepository.class, (method, args) -> switch (method) {
+            case "findByDoctorIdAndAppointmentTimeBetween" -> booked.stream()
+                    .filter(a -> a.getDoctor().getId().equals(args[0])
+                            && !a.getAppointmentTime().isBefore((LocalDateTime) args[1])
+                            && a.getAppointmentTime().isBefore((LocalDateTime) args[2]))
+                    .toList();
+            default -> throw new UnsupportedOperationException(method);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, BiFunction<String, Object[], Object> methods) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> methods.apply(method.getName(), args));
+    }
+}
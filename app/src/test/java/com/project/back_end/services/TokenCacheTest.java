@@ -0,0 +1,66 @@
+package com.project.back_end.services;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenCacheTest {
+
+    private final TokenCache cache = new TokenCache(100, 600);
+
+    @Test
+    void returnsStoredClaims() {
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        cache.put("token-a", "doctor1@clinic.com", expiresAt);
+
+        TokenCache.CachedToken cached = cache.get("token-a");
+        assertNotNull(cached);
+        assertEquals("doctor1@clinic.com", cached.identifier());
+        assertEquals(expiresAt, cached.expiresAt());
+        assertNull(cache.get("token-b"));
+    }
+
+    @Test
+    void expiredTokenIsNotReturned() {
+        cache.put("token-a", "doctor1@clinic.com", System.currentTimeMillis() - 1);
+        assertNull(cache.get("token-a"));
+    }
+
+    @Test
+    void entryLivesNoLongerThanTheTtl() {
+        long before = System.currentTimeMillis();
+        TokenCache.CachedToken cached = cache.put("token-a", "doctor1@clinic.com", before + 3_600_000);
+        assertTrue(cached.expiresAt() <= System.currentTimeMillis() + 600_000);
+
+        TokenCache noTtl = new TokenCache(100, 0);
+        noTtl.put("token-a", "doctor1@clinic.com", before + 3_600_000);
+        assertNull(noTtl.get("token-a"));
+    }
+
+    @Test
+    void invalidateByIdentifier() {
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        cache.put("token-a", "doctor1@clinic.com", expiresAt);
+        cache.put("token-b", "doctor1@clinic.com", expiresAt);
+        cache.put("token-c", "doctor2@clinic.com", expiresAt);
+
+        cache.invalidate("doctor", null, "doctor1@clinic.com");
+
+        assertNull(cache.get("token-a"));
+        assertNull(cache.get("token-b"));
+        assertNotNull(cache.get("token-c"));
+    }
+
+    @Test
+    void invalidateByPrincipalIdOfTheSameRole() {
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        // Issued under an email the doctor has since changed
+        cache.put("token-a", "old@clinic.com", expiresAt).principalIds().put("doctor", 7L);
+        cache.put("token-b", "patient@mail.com", expiresAt).principalIds().put("patient", 7L);
+
+        cache.invalidate("doctor", 7L, "new@clinic.com");
+
+        assertNull(cache.get("token-a"));
+        assertNotNull(cache.get("token-b"));
+    }
+}